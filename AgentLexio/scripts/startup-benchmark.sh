@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Measures cold-start time (JVM launch until the actuator health endpoint answers) and
+# the latency of the first call to an application endpoint for the plain jar and the
+# fast-startup build. The readiness probe never touches application controllers, so the
+# first request pays for their lazy initialisation (handler, service, JSON serialisation);
+# set FIRST_REQUEST_PATH to time a different endpoint.
+#
+# Usage:
+#   ./mvnw -Pfast-startup -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$BASE_DIR/target"
+JAR_NAME="agent-lexio-0.0.1-SNAPSHOT.jar"
+HEALTH_URL="http://localhost:$PORT/actuator/health"
+FIRST_REQUEST_URL="http://localhost:$PORT${FIRST_REQUEST_PATH:-/api/stats}"
+COMMON_ARGS=(--server.port="$PORT" --langchain4j.anthropic.chat-model.api-key="${ANTHROPIC_API_KEY:-benchmark}")
+
+now_ms() { date +%s%3N; }
+
+run_mode() {
+    local mode="$1"; shift
+    local total_start=0 total_first=0
+
+    for ((i = 1; i <= RUNS; i++)); do
+        local start ready first_done pid
+        start=$(now_ms)
+        "$@" "${COMMON_ARGS[@]}" > "$TARGET/startup-benchmark-$mode.log" 2>&1 &
+        pid=$!
+
+        until curl -sf -o /dev/null "$HEALTH_URL"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$mode: application exited, see $TARGET/startup-benchmark-$mode.log" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        ready=$(now_ms)
+
+        first_done=$(curl -sf -o /dev/null -w '%{time_total}' "$FIRST_REQUEST_URL") || {
+            echo "$mode: first request to $FIRST_REQUEST_URL failed" >&2
+            kill "$pid" 2>/dev/null || true
+            exit 1
+        }
+
+        kill "$pid" && wait "$pid" 2>/dev/null || true
+
+        total_start=$((total_start + ready - start))
+        total_first=$(awk -v a="$total_first" -v b="$first_done" 'BEGIN { print a + b * 1000 }')
+        printf '%-14s run %d: ready in %5d ms, first request %6.1f ms\n' \
+            "$mode" "$i" "$((ready - start))" "$(awk -v b="$first_done" 'BEGIN { print b * 1000 }')"
+    done
+
+    printf '%-14s mean: ready in %5d ms, first request %6.1f ms\n\n' \
+        "$mode" "$((total_start / RUNS))" "$(awk -v a="$total_first" -v n="$RUNS" 'BEGIN { print a / n }')"
+}
+
+run_mode default java -jar "$TARGET/$JAR_NAME"
+
+if [[ -f "$TARGET/extracted/application.jsa" ]]; then
+    (cd "$TARGET/extracted" && run_mode fast-startup java \
+        -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=prod \
+        -jar "$JAR_NAME")
+else
+    echo "No CDS archive found; build with ./mvnw -Pfast-startup package to benchmark the fast-startup mode." >&2
+fi
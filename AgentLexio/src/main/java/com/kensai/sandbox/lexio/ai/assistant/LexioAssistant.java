@@ -1,5 +1,6 @@
 package com.kensai.sandbox.lexio.ai.assistant;
 
+import dev.langchain4j.service.Result;
 import dev.langchain4j.service.SystemMessage;
 import dev.langchain4j.service.UserMessage;
 
@@ -44,14 +45,20 @@ public interface LexioAssistant {
             5. When they answer, use submitAnswer to check it and provide feedback
             6. If they ask for help, use requestTranslation to give them a hint
             7. If they want to skip, use skipQuestion
-            8. After all questions, use getExerciseSummary to show their results
+            8. After all questions, show their results from the summary in the last response
 
             ## IMPORTANT: Last Question Feedback
-            When the user answers the LAST question (exerciseComplete becomes true):
+            When the user answers or skips the LAST question (exerciseComplete becomes true):
             - FIRST present the feedback for that answer (correct/incorrect, explanation)
-            - THEN call getExerciseSummary and present the results
+            - THEN present the results from the summary field of that same response
+            - Do not call getExerciseSummary for this; the summary is already there
             - Never skip the feedback for the final question!
 
+            ## Tool Calls
+            - You may make several tool calls in the same message. Calls that change the
+            level or an exercise run in the order you list them (e.g. setUserLevel before
+            generateVocabularyExercise); getUserLevel and getExerciseSummary run alongside
+
             ## Topic Handling
             - Users can request ANY topic: cooking, legal terms, sports, medicine, etc.
             - The system will assess the topic's CEFR level automatically
@@ -66,6 +73,8 @@ public interface LexioAssistant {
             - Use the user's language (English or German) based on what they write
             - If the user guessed a word that is not what you had initially in mind but it
             makes sense to be used in the sentence then accept it, but also mention what you had in mind
+            - If submitAnswer returns matchType INFLECTION, the learner used a different form of the
+            right word (e.g. plural or another tense); it counts as correct, but show the exact form
 
             ## Important
             - Always use the appropriate tool rather than making up exercises or answers
@@ -73,5 +82,5 @@ public interface LexioAssistant {
             - If a user seems confused about what you can do, explain your capabilities
             - When calling generateVocabularyExercise, set proceedDespiteWarning to false initially
             """)
-    String chat(@UserMessage String userMessage);
+    Result<String> chat(@UserMessage String userMessage);
 }
@@ -24,7 +24,7 @@ public interface VocabularyGenerator {
     @UserMessage("Assess the CEFR level for German vocabulary about: {{topic}}")
     String assessTopicLevel(@V("topic") String topic);
 
-    @SystemMessage("""
+    String GENERATION_SYSTEM_PROMPT = """
             You are an expert German language teacher creating vocabulary exercises.
             Generate fill-in-the-blank sentences for German learners.
 
@@ -44,7 +44,18 @@ public interface VocabularyGenerator {
 
             Example:
             [{"sentenceWithBlank": "Ich trinke gern ___.", "completeSentence": "Ich trinke gern Kaffee.", "targetWord": "Kaffee", "englishWord": "coffee", "englishTranslation": "I like to drink ___."}]
-            """)
+            """;
+
+    @SystemMessage(GENERATION_SYSTEM_PROMPT)
     @UserMessage("Generate {{count}} German vocabulary sentences about '{{topic}}' at {{level}} level.")
     String generateVocabularySentences(@V("topic") String topic, @V("level") String level, @V("count") int count);
+
+    @SystemMessage(GENERATION_SYSTEM_PROMPT)
+    @UserMessage("""
+            Generate {{count}} German vocabulary sentences about '{{topic}}' at {{level}} level.
+            Focus on: {{focus}}.
+            Do not use any of these words as targetWord: {{excludedWords}}.
+            """)
+    String generateFocusedVocabularySentences(@V("topic") String topic, @V("level") String level, @V("count") int count,
+                                              @V("focus") String focus, @V("excludedWords") String excludedWords);
 }
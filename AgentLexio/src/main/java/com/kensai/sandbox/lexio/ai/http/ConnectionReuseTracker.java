@@ -0,0 +1,68 @@
+package com.kensai.sandbox.lexio.ai.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.net.ssl.SSLSession;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Counts requests served on new versus reused connections.
+ *
+ * <p>{@link java.net.http.HttpClient} does not expose its pool, so reuse is inferred from
+ * the TLS session a response arrived on: every new connection negotiates its own
+ * {@link SSLSession} instance. Plain-HTTP responses carry no session and are counted as
+ * {@code unknown}.
+ */
+public class ConnectionReuseTracker {
+
+    private final Set<SSLSession> seenSessions = Collections.newSetFromMap(new WeakHashMap<>());
+    private final Counter newConnections;
+    private final Counter reusedConnections;
+    private final Counter unknownConnections;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    public ConnectionReuseTracker(MeterRegistry meterRegistry) {
+        this.newConnections = counter(meterRegistry, "new");
+        this.reusedConnections = counter(meterRegistry, "reused");
+        this.unknownConnections = counter(meterRegistry, "unknown");
+        Gauge.builder("lexio.http.client.connection.reuse.ratio", this, ConnectionReuseTracker::reuseRatio)
+            .description("Share of TLS requests served on an already open connection")
+            .register(meterRegistry);
+    }
+
+    void record(HttpResponse<?> response) {
+        lastActivityNanos = System.nanoTime();
+        SSLSession session = response.sslSession().orElse(null);
+        if (session == null) {
+            unknownConnections.increment();
+            return;
+        }
+        boolean added;
+        synchronized (seenSessions) {
+            added = seenSessions.add(session);
+        }
+        (added ? newConnections : reusedConnections).increment();
+    }
+
+    public long nanosSinceLastActivity() {
+        return System.nanoTime() - lastActivityNanos;
+    }
+
+    public double reuseRatio() {
+        double reused = reusedConnections.count();
+        double total = reused + newConnections.count();
+        return total == 0 ? 0.0 : reused / total;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String connection) {
+        return Counter.builder("lexio.http.client.requests")
+            .description("Anthropic API requests by connection reuse")
+            .tag("connection", connection)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,141 @@
+package com.kensai.sandbox.lexio.ai.http;
+
+import com.kensai.sandbox.lexio.config.AnthropicHttpProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Opens (and keeps open) a pooled connection to the Anthropic API so the first model call
+ * after startup or an idle period does not pay for DNS, TCP and TLS setup. The warm-up
+ * request lists one model, which costs no tokens.
+ *
+ * <p>Re-warming only helps while the connection is still pooled, so an idle connection is
+ * re-warmed before the JDK client's keep-alive timeout drops it, whatever the configured
+ * idle threshold.
+ */
+@Slf4j
+@Component
+public class ConnectionWarmer {
+
+    private static final String ANTHROPIC_VERSION = "2023-06-01";
+    static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final long DEFAULT_KEEP_ALIVE_SECONDS = 30;
+
+    private final HttpClient anthropicHttpClient;
+    private final AnthropicHttpProperties properties;
+    private final ConnectionReuseTracker tracker;
+    private final String apiKey;
+    private final Counter warmups;
+    private final Duration rewarmAfter;
+
+    public ConnectionWarmer(HttpClient anthropicHttpClient,
+                            AnthropicHttpProperties properties,
+                            ConnectionReuseTracker tracker,
+                            MeterRegistry meterRegistry,
+                            @Value("${langchain4j.anthropic.chat-model.api-key}") String apiKey) {
+        this.anthropicHttpClient = anthropicHttpClient;
+        this.properties = properties;
+        this.tracker = tracker;
+        this.apiKey = apiKey;
+        this.warmups = Counter.builder("lexio.http.client.warmups")
+            .description("Warm-up requests sent to the Anthropic API")
+            .register(meterRegistry);
+
+        Duration pooledIdleTimeout = pooledIdleTimeout();
+        this.rewarmAfter = rewarmAfter(properties.warmupIdleThreshold(), properties.warmupCheckInterval(), pooledIdleTimeout);
+        if (rewarmAfter.isZero()) {
+            log.warn("Keep-alive timeout of {} is under two warm-up check intervals of {}; warming on every check",
+                pooledIdleTimeout, properties.warmupCheckInterval());
+        } else if (rewarmAfter.compareTo(properties.warmupIdleThreshold()) < 0) {
+            log.info("Re-warming idle Anthropic connections after {}, within the keep-alive timeout of {}",
+                rewarmAfter, pooledIdleTimeout);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (properties.warmupEnabled()) {
+            Thread.ofVirtual().name("anthropic-warmup").start(this::warm);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lexio.http.warmup-check-interval:10s}")
+    public void rewarmIfIdle() {
+        if (properties.warmupEnabled() && tracker.nanosSinceLastActivity() >= rewarmAfter.toNanos()) {
+            warm();
+        }
+    }
+
+    public void warm() {
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(properties.baseUrl()).resolve("models?limit=1"))
+            .timeout(properties.warmupTimeout())
+            .header("x-api-key", apiKey)
+            .header("anthropic-version", ANTHROPIC_VERSION)
+            .GET()
+            .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = anthropicHttpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            tracker.record(response);
+            warmups.increment();
+            log.debug("Warmed Anthropic connection in {} ms (status {})",
+                (System.nanoTime() - start) / 1_000_000, response.statusCode());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not warm Anthropic connection: {}", e.toString());
+        }
+    }
+
+    /**
+     * How long the JDK client keeps an idle connection pooled: {@code jdk.httpclient.keepalive.timeout}
+     * seconds (30 by default), or the {@code .h2} variant for HTTP/2 connections, which falls
+     * back to it. The JDK reads both once, so they can only be set on the command line.
+     */
+    static Duration pooledIdleTimeout() {
+        long keepAlive = seconds(KEEP_ALIVE_PROPERTY, DEFAULT_KEEP_ALIVE_SECONDS);
+        long keepAliveH2 = seconds(KEEP_ALIVE_PROPERTY + ".h2", keepAlive);
+        // The client negotiates HTTP/2 but may end up on HTTP/1.1, so honour the shorter one
+        return Duration.ofSeconds(Math.min(keepAlive, keepAliveH2));
+    }
+
+    /**
+     * Idle time after which to re-warm: the configured threshold, but at least two check
+     * intervals before the pool drops the connection, one because idleness is only noticed
+     * on the next check and one as margin for the warm-up request itself.
+     */
+    static Duration rewarmAfter(Duration configured, Duration checkInterval, Duration pooledIdleTimeout) {
+        Duration latest = pooledIdleTimeout.minus(checkInterval.multipliedBy(2));
+        if (latest.isNegative()) {
+            latest = Duration.ZERO;
+        }
+        return configured.compareTo(latest) <= 0 ? configured : latest;
+    }
+
+    private static long seconds(String property, long defaultSeconds) {
+        try {
+            long value = Long.parseLong(System.getProperty(property, ""));
+            return value >= 0 ? value : defaultSeconds;
+        } catch (NumberFormatException e) {
+            return defaultSeconds;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.kensai.sandbox.lexio.ai.http;
+
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpRequest;
+import dev.langchain4j.http.client.SuccessfulHttpResponse;
+import dev.langchain4j.http.client.sse.ServerSentEventListener;
+import dev.langchain4j.http.client.sse.ServerSentEventParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * LangChain4j {@link HttpClient} on top of a shared {@link java.net.http.HttpClient}, so
+ * every model built from {@link PooledHttpClientBuilder} uses the same HTTP/2 connection
+ * pool. Non-streaming responses are requested gzip-compressed.
+ */
+public class PooledHttpClient implements HttpClient {
+
+    private final java.net.http.HttpClient delegate;
+    private final Duration readTimeout;
+    private final boolean compression;
+    private final ConnectionReuseTracker tracker;
+
+    PooledHttpClient(java.net.http.HttpClient delegate, Duration readTimeout, boolean compression,
+                     ConnectionReuseTracker tracker) {
+        this.delegate = delegate;
+        this.readTimeout = readTimeout;
+        this.compression = compression;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public SuccessfulHttpResponse execute(HttpRequest request) throws HttpException {
+        try {
+            HttpResponse<InputStream> response = delegate.send(toJdkRequest(request, compression), BodyHandlers.ofInputStream());
+            tracker.record(response);
+            String body = readBody(response);
+            if (!isSuccessful(response)) {
+                throw new HttpException(response.statusCode(), body);
+            }
+            return toResponse(response, body);
+        } catch (HttpTimeoutException e) {
+            throw new UncheckedIOException("Request timed out after " + readTimeout, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request.url(), e);
+        }
+    }
+
+    @Override
+    public void execute(HttpRequest request, ServerSentEventParser parser, ServerSentEventListener listener) {
+        // Event streams are consumed incrementally, so they are not compressed
+        delegate.sendAsync(toJdkRequest(request, false), BodyHandlers.ofInputStream())
+            .thenAccept(response -> {
+                tracker.record(response);
+                try (InputStream body = response.body()) {
+                    if (!isSuccessful(response)) {
+                        listener.onError(new HttpException(response.statusCode(),
+                            new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+                        return;
+                    }
+                    listener.onOpen(toResponse(response, null));
+                    parser.parse(body, listener);
+                    listener.onClose();
+                } catch (Exception e) {
+                    listener.onError(e);
+                }
+            })
+            .exceptionally(error -> {
+                listener.onError(error instanceof CompletionException ? error.getCause() : error);
+                return null;
+            });
+    }
+
+    private java.net.http.HttpRequest toJdkRequest(HttpRequest request, boolean acceptGzip) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder()
+            .uri(URI.create(request.url()))
+            .timeout(readTimeout);
+
+        request.headers().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+        if (acceptGzip) {
+            builder.setHeader("Accept-Encoding", "gzip");
+        }
+
+        java.net.http.HttpRequest.BodyPublisher body = request.body() == null
+            ? java.net.http.HttpRequest.BodyPublishers.noBody()
+            : java.net.http.HttpRequest.BodyPublishers.ofString(request.body());
+        return builder.method(request.method().name(), body).build();
+    }
+
+    private static String readBody(HttpResponse<InputStream> response) throws IOException {
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+            .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        // Drain the raw stream to EOF before decompressing: GZIPInputStream stops at the gzip
+        // trailer, and closing a body that was not read to the end makes the client drop the
+        // connection instead of returning it to the pool
+        byte[] bytes;
+        try (InputStream in = response.body()) {
+            bytes = in.readAllBytes();
+        }
+        if (gzipped) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static SuccessfulHttpResponse toResponse(HttpResponse<?> response, String body) {
+        Map<String, List<String>> headers = response.headers().map();
+        return SuccessfulHttpResponse.builder()
+            .statusCode(response.statusCode())
+            .headers(headers)
+            .body(body)
+            .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.kensai.sandbox.lexio.ai.http;
+
+import dev.langchain4j.http.client.HttpClientBuilder;
+
+import java.time.Duration;
+
+/**
+ * Hands out {@link PooledHttpClient}s that all share one {@link java.net.http.HttpClient}.
+ * The connect timeout is fixed when the shared client is created; a value set here is
+ * only reported back, not applied.
+ */
+public class PooledHttpClientBuilder implements HttpClientBuilder {
+
+    private final java.net.http.HttpClient sharedClient;
+    private final boolean compression;
+    private final ConnectionReuseTracker tracker;
+    private Duration connectTimeout;
+    private Duration readTimeout;
+
+    public PooledHttpClientBuilder(java.net.http.HttpClient sharedClient, Duration readTimeout,
+                                   boolean compression, ConnectionReuseTracker tracker) {
+        this.sharedClient = sharedClient;
+        this.connectTimeout = sharedClient.connectTimeout().orElse(null);
+        this.readTimeout = readTimeout;
+        this.compression = compression;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Duration connectTimeout() {
+        return connectTimeout;
+    }
+
+    @Override
+    public PooledHttpClientBuilder connectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    @Override
+    public Duration readTimeout() {
+        return readTimeout;
+    }
+
+    @Override
+    public PooledHttpClientBuilder readTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    @Override
+    public PooledHttpClient build() {
+        return new PooledHttpClient(sharedClient, readTimeout, compression, tracker);
+    }
+}
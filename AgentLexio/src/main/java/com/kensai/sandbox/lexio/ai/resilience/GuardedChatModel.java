@@ -0,0 +1,52 @@
+package com.kensai.sandbox.lexio.ai.resilience;
+
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sends each of the assistant's model requests through the {@link LlmCallExecutor}, so the
+ * deadline, hedging and circuit breaker apply to single requests rather than to a whole
+ * chat turn with its tool calls. A request only reads the conversation, so it may be
+ * hedged; the tools it asks for run after it has returned.
+ */
+public class GuardedChatModel implements ChatModel {
+
+    private static final String OPERATION = "assistant";
+
+    private final ChatModel delegate;
+    private final LlmCallExecutor llmCallExecutor;
+    private final Duration deadline;
+
+    public GuardedChatModel(ChatModel delegate, LlmCallExecutor llmCallExecutor, Duration deadline) {
+        this.delegate = delegate;
+        this.llmCallExecutor = llmCallExecutor;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest request) {
+        return llmCallExecutor.call(OPERATION, deadline, true, () -> delegate.chat(request));
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+}
@@ -0,0 +1,37 @@
+package com.kensai.sandbox.lexio.ai.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent end-to-end call latencies of one operation, timeouts included,
+ * in a fixed ring and answers percentile queries over them. Used to decide when a hedge is due.
+ */
+class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        if (size < samples.length) size++;
+    }
+
+    synchronized int sampleCount() {
+        return size;
+    }
+
+    synchronized Duration percentile(double percentile) {
+        if (size == 0) return Duration.ZERO;
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return Duration.ofNanos(sorted[Math.min(Math.max(index, 0), size - 1)]);
+    }
+}
@@ -0,0 +1,228 @@
+package com.kensai.sandbox.lexio.ai.resilience;
+
+import com.kensai.sandbox.lexio.ai.resilience.LlmUnavailableException.Reason;
+import com.kensai.sandbox.lexio.ai.tracing.TracingExecutors;
+import com.kensai.sandbox.lexio.config.LlmResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.RetriableException;
+import dev.langchain4j.exception.UnresolvedModelServerException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs calls to the language model under a deadline and a shared circuit breaker.
+ * Idempotent calls may additionally be hedged: if the first attempt is still running
+ * once the observed p95 latency for that operation has passed, a duplicate request is
+ * sent and whichever answers first wins.
+ *
+ * <p>The p95 is taken over end-to-end call latencies (call start to first result, or to
+ * the deadline for calls that time out), so slow attempts that lost a hedge or never
+ * finished still count.
+ *
+ * <p>Only provider and transport failures and missed deadlines count against the breaker.
+ * Any other exception thrown by the call (a parse error, a bug) is rethrown as is, and a
+ * caller interrupt ends the call, both without recording an outcome.
+ *
+ * <p>Every call runs in a {@code lexio.llm.invocation} span; attempts inherit it, so the
+ * model requests and tool executions of each attempt nest underneath.
+ */
+@Slf4j
+@Component
+public class LlmCallExecutor implements DisposableBean {
+
+    private static final int LATENCY_SAMPLES = 256;
+
+    private final LlmResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final ExecutorService executor = TracingExecutors.propagating(Executors.newVirtualThreadPerTaskExecutor());
+
+    public LlmCallExecutor(LlmResilienceProperties properties, MeterRegistry meterRegistry,
+                           ObservationRegistry observationRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.circuitBreaker = new CircuitBreaker(
+            "anthropic",
+            properties.breakerWindowSize(),
+            properties.breakerMinimumCalls(),
+            properties.breakerFailureRateThreshold(),
+            properties.breakerOpenDuration(),
+            Clock.systemUTC());
+        Gauge.builder("lexio.llm.breaker.state", circuitBreaker, cb -> cb.getState().getCode())
+            .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Executes {@code call} within {@code deadline}.
+     *
+     * @param hedgeable whether the call is idempotent and may be duplicated
+     * @throws LlmUnavailableException if no attempt succeeded in time or the breaker is open
+     */
+    public <T> T call(String operation, Duration deadline, boolean hedgeable, Supplier<T> call) {
+        Observation observation = Observation.createNotStarted("lexio.llm.invocation", observationRegistry)
+            .contextualName(operation)
+            .lowCardinalityKeyValue("operation", operation);
+        return observation.observe(() -> execute(operation, deadline, hedgeable, call, observation));
+    }
+
+    private <T> T execute(String operation, Duration deadline, boolean hedgeable, Supplier<T> call,
+                          Observation observation) {
+        if (!circuitBreaker.tryAcquire()) {
+            recordOutcome(operation, "rejected", Duration.ZERO);
+            throw new LlmUnavailableException(operation, Reason.CIRCUIT_OPEN, null);
+        }
+
+        long start = System.nanoTime();
+        long deadlineAt = start + deadline.toNanos();
+        LatencyTracker tracker = latencies.computeIfAbsent(operation, k -> new LatencyTracker(LATENCY_SAMPLES));
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+
+        try {
+            attempts.add(completion.submit(call::get));
+
+            Duration hedgeDelay = hedgeable ? hedgeDelay(tracker) : null;
+            boolean hedged = false;
+            Throwable lastError = null;
+            int pending = 1;
+
+            while (pending > 0) {
+                long waitUntil = deadlineAt;
+                if (hedgeDelay != null && !hedged) {
+                    waitUntil = Math.min(deadlineAt, start + hedgeDelay.toNanos());
+                }
+
+                Future<T> done = completion.poll(Math.max(waitUntil - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (System.nanoTime() - deadlineAt >= 0) {
+                        break;
+                    }
+                    log.info("LLM call '{}' exceeded p95 of {} ms, sending hedged request",
+                        operation, hedgeDelay.toMillis());
+                    hedgeCounter(operation, "issued").increment();
+                    observation.event(Observation.Event.of("lexio.llm.hedge"));
+                    observation.highCardinalityKeyValue("hedged", "true");
+                    attempts.add(completion.submit(call::get));
+                    hedged = true;
+                    pending++;
+                    continue;
+                }
+
+                pending--;
+                try {
+                    T result = done.get();
+                    if (hedged && done == attempts.get(1)) {
+                        hedgeCounter(operation, "won").increment();
+                    }
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                    tracker.record(elapsed);
+                    circuitBreaker.onSuccess();
+                    recordOutcome(operation, "success", elapsed);
+                    return result;
+                } catch (ExecutionException e) {
+                    lastError = e.getCause();
+                    if (!isProviderFailure(lastError)) {
+                        circuitBreaker.release();
+                        recordOutcome(operation, "application_error", Duration.ofNanos(System.nanoTime() - start));
+                        throw rethrow(lastError);
+                    }
+                    log.warn("LLM call '{}' attempt failed: {}", operation, lastError.toString());
+                }
+            }
+
+            circuitBreaker.onFailure();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (lastError != null && pending == 0) {
+                recordOutcome(operation, "error", elapsed);
+                throw new LlmUnavailableException(operation, Reason.PROVIDER_ERROR, lastError);
+            }
+            // A timed-out call still tells the tracker how slow this operation has become
+            tracker.record(elapsed);
+            recordOutcome(operation, "timeout", elapsed);
+            throw new LlmUnavailableException(operation, Reason.DEADLINE_EXCEEDED, lastError);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.release();
+            throw new LlmUnavailableException(operation, Reason.INTERRUPTED, e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    /**
+     * Whether an attempt failed because of the provider or the connection to it: a transport
+     * error, a retriable API error (overload, rate limit, timeout), an unreachable server or
+     * a 5xx/429 status.
+     */
+    static boolean isProviderFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof RetriableException || t instanceof UnresolvedModelServerException
+                    || t instanceof IOException || t instanceof UncheckedIOException) {
+                return true;
+            }
+            if (t instanceof HttpException http) {
+                return http.statusCode() >= 500 || http.statusCode() == 429;
+            }
+        }
+        return false;
+    }
+
+    private static RuntimeException rethrow(Throwable error) {
+        if (error instanceof RuntimeException runtimeException) return runtimeException;
+        if (error instanceof Error e) throw e;
+        return new IllegalStateException(error);
+    }
+
+    public CircuitBreaker.State getBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Duration hedgeDelay(LatencyTracker tracker) {
+        if (!properties.hedgeEnabled() || tracker.sampleCount() < properties.hedgeMinSamples()) {
+            return null;
+        }
+        Duration percentile = tracker.percentile(properties.hedgePercentile());
+        return percentile.compareTo(properties.hedgeMinDelay()) < 0 ? properties.hedgeMinDelay() : percentile;
+    }
+
+    private Counter hedgeCounter(String operation, String result) {
+        return Counter.builder("lexio.llm.hedges")
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private void recordOutcome(String operation, String outcome, Duration elapsed) {
+        Timer.builder("lexio.llm.calls")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(elapsed);
+    }
+}
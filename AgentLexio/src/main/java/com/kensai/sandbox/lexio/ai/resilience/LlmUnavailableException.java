@@ -0,0 +1,22 @@
+package com.kensai.sandbox.lexio.ai.resilience;
+
+/**
+ * Thrown by {@link LlmCallExecutor} when a model call could not produce a result,
+ * either because the provider failed, the deadline passed, the breaker is open or the
+ * calling thread was interrupted.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    public enum Reason { PROVIDER_ERROR, DEADLINE_EXCEEDED, CIRCUIT_OPEN, INTERRUPTED }
+
+    private final Reason reason;
+
+    public LlmUnavailableException(String operation, Reason reason, Throwable cause) {
+        super(String.format("LLM call '%s' failed: %s", operation, reason), cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kensai.sandbox.lexio.ai.tools;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link dev.langchain4j.agent.tool.Tool} method that only reads profile or exercise
+ * state. It may run alongside the other tool calls of the same model response; every other
+ * tool runs after the calls requested before it have finished.
+ *
+ * @see ToolCallSequencer
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyTool {
+}
@@ -0,0 +1,139 @@
+package com.kensai.sandbox.lexio.ai.tools;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.agent.tool.ToolSpecifications;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import dev.langchain4j.service.tool.ToolExecutor;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Keeps tool calls that change state in the order the model requested them while the
+ * rest of a response's tool calls run concurrently.
+ *
+ * <p>LangChain4j hands the tool calls of one response to the executor one after another,
+ * in request order, from the thread running that chat turn, and waits for all of them
+ * before it asks the model again. The executor returned by {@link #executor} gives every
+ * task a ticket chained to the previous ticket issued on the submitting thread, so the
+ * ordering is scoped to one response: calls of concurrent turns never wait for each other.
+ * A state-changing tool waits until the tickets before it are done. A {@link ReadOnlyTool} starts right away and its ticket
+ * simply passes the previous one on, so it never holds back later calls. Calls made
+ * outside the executor (a single tool call per response) are not affected.
+ */
+public class ToolCallSequencer {
+
+    private static final ThreadLocal<Ticket> CURRENT = new ThreadLocal<>();
+
+    private final ThreadLocal<CompletableFuture<Void>> last =
+        ThreadLocal.withInitial(() -> CompletableFuture.completedFuture(null));
+
+    /**
+     * Wraps {@code delegate} so the tasks it runs take part in the ordering.
+     */
+    public Executor executor(ExecutorService delegate) {
+        return task -> {
+            Ticket ticket = nextTicket();
+            try {
+                delegate.execute(() -> {
+                    CURRENT.set(ticket);
+                    try {
+                        task.run();
+                    } finally {
+                        CURRENT.remove();
+                        ticket.passOn();
+                    }
+                });
+            } catch (RuntimeException e) {
+                ticket.passOn();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Wraps every executor of {@code tools} in the ordering; tools whose method on
+     * {@code toolObject} is annotated {@link ReadOnlyTool} are left unordered.
+     */
+    public Map<ToolSpecification, ToolExecutor> sequenced(Map<ToolSpecification, ToolExecutor> tools, Object toolObject) {
+        Set<String> readOnly = new HashSet<>();
+        for (Method method : toolObject.getClass().getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Tool.class) && method.isAnnotationPresent(ReadOnlyTool.class)) {
+                readOnly.add(ToolSpecifications.toolSpecificationFrom(method).name());
+            }
+        }
+
+        Map<ToolSpecification, ToolExecutor> sequenced = new LinkedHashMap<>();
+        tools.forEach((specification, executor) ->
+            sequenced.put(specification, new SequencedToolExecutor(executor, readOnly.contains(specification.name()))));
+        return sequenced;
+    }
+
+    private Ticket nextTicket() {
+        Ticket ticket = new Ticket(last.get());
+        last.set(ticket.done);
+        return ticket;
+    }
+
+    private static final class Ticket {
+
+        private final CompletableFuture<Void> previous;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Ticket(CompletableFuture<Void> previous) {
+            this.previous = previous;
+        }
+
+        void awaitTurn() {
+            previous.join();
+        }
+
+        void complete() {
+            done.complete(null);
+        }
+
+        /**
+         * Done once everything before it is; a no-op if already completed.
+         */
+        void passOn() {
+            previous.whenComplete((ignored, error) -> done.complete(null));
+        }
+    }
+
+    private record SequencedToolExecutor(ToolExecutor delegate, boolean readOnly) implements ToolExecutor {
+
+        @Override
+        public String execute(ToolExecutionRequest request, Object memoryId) {
+            return inTurn(() -> delegate.execute(request, memoryId));
+        }
+
+        @Override
+        public ToolExecutionResult executeWithContext(ToolExecutionRequest request, InvocationContext context) {
+            return inTurn(() -> delegate.executeWithContext(request, context));
+        }
+
+        private <T> T inTurn(Supplier<T> execution) {
+            Ticket ticket = CURRENT.get();
+            if (ticket == null) {
+                return execution.get();
+            }
+            if (readOnly) {
+                ticket.passOn();
+                return execution.get();
+            }
+            ticket.awaitTurn();
+            try {
+                return execution.get();
+            } finally {
+                ticket.complete();
+            }
+        }
+    }
+}
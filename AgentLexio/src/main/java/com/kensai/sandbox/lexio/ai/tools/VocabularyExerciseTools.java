@@ -1,9 +1,15 @@
 package com.kensai.sandbox.lexio.ai.tools;
 
+import com.kensai.sandbox.lexio.lexicon.AnswerMatch;
+import com.kensai.sandbox.lexio.lexicon.GermanLexicon;
+import com.kensai.sandbox.lexio.service.ExercisePrefetcher;
+import com.kensai.sandbox.lexio.service.ExercisePrefetcher.Prefetched;
 import com.kensai.sandbox.lexio.service.UserProfileService;
 import com.kensai.sandbox.lexio.service.UserProfileService.CefrLevel;
 import com.kensai.sandbox.lexio.service.VocabularyGenerationService;
 import com.kensai.sandbox.lexio.service.VocabularyGenerationService.GeneratedQuestion;
+import com.kensai.sandbox.lexio.stats.LearningEvent;
+import com.kensai.sandbox.lexio.stats.LearningStatsService;
 import com.kensai.sandbox.lexio.web.dto.TopicAssessment;
 import com.kensai.sandbox.lexio.web.dto.exercise.*;
 import dev.langchain4j.agent.tool.P;
@@ -22,6 +28,9 @@ public class VocabularyExerciseTools {
 
     private final UserProfileService userProfileService;
     private final VocabularyGenerationService vocabularyGenerationService;
+    private final GermanLexicon germanLexicon;
+    private final LearningStatsService learningStatsService;
+    private final ExercisePrefetcher exercisePrefetcher;
 
     private final Map<String, ExerciseState> activeExercises = new ConcurrentHashMap<>();
     private final Map<String, PendingExercise> pendingExercises = new ConcurrentHashMap<>();
@@ -34,7 +43,7 @@ public class VocabularyExerciseTools {
     public String setUserLevel(
             @P("The CEFR level: A1, A2, B1, B2, C1, or C2")
             String level) {
-        log.info("Setting user level to: {}", level);
+        log.debug("Setting user level to: {}", level);
         CefrLevel cefrLevel = CefrLevel.fromString(level);
         userProfileService.setLevel(cefrLevel);
         return String.format("Your German level has been set to %s.", cefrLevel);
@@ -44,9 +53,10 @@ public class VocabularyExerciseTools {
         Gets the user's current German proficiency level.
         Call this when the user asks about their level or you need to check it.
         """)
+    @ReadOnlyTool
     public String getUserLevel() {
         CefrLevel level = userProfileService.getLevel();
-        log.info("Getting user level: {}", level);
+        log.debug("Getting user level: {}", level);
         return String.format("Your current German level is set to %s.", level);
     }
 
@@ -64,17 +74,25 @@ public class VocabularyExerciseTools {
             @P("Set to true if the user has already been warned about difficulty and wants to proceed anyway")
             boolean proceedDespiteWarning) {
 
-        log.info("Generating vocabulary exercise for topic: {}, questions: {}, proceedDespiteWarning: {}",
+        log.debug("Generating vocabulary exercise for topic: {}, questions: {}, proceedDespiteWarning: {}",
                 topic, numberOfQuestions, proceedDespiteWarning);
 
         int questionsCount = Math.min(Math.max(numberOfQuestions, 1), 10);
+        CefrLevel userLevel = userProfileService.getLevel();
+
+        // The follow-up exercise on this topic may already have been generated in the background.
+        // One above the user's level has not been through the difficulty warning yet.
+        Optional<Prefetched> prefetched = exercisePrefetcher.claim(userProfileService.getSessionId(), topic,
+            questionsCount, proceedDespiteWarning ? CefrLevel.C2 : userLevel);
+        if (prefetched.isPresent()) {
+            return startExercise(topic, prefetched.get().level(), prefetched.get().questions());
+        }
 
         // Assess the topic difficulty
         TopicAssessment assessment = vocabularyGenerationService.assessTopic(topic);
         CefrLevel topicLevel = CefrLevel.fromString(assessment.assessedLevel());
-        CefrLevel userLevel = userProfileService.getLevel();
 
-        log.info("Topic '{}' assessed at {} level, user is at {} level", topic, topicLevel, userLevel);
+        log.debug("Topic '{}' assessed at {} level, user is at {} level", topic, topicLevel, userLevel);
 
         // Check if topic is too advanced
         if (!proceedDespiteWarning && userLevel.isLowerThan(topicLevel)) {
@@ -116,17 +134,18 @@ public class VocabularyExerciseTools {
             @P("Number of questions for the exercise")
             int numberOfQuestions) {
 
-        log.info("User confirmed difficult topic: {}", topic);
+        log.debug("User confirmed difficult topic: {}", topic);
         CefrLevel userLevel = userProfileService.getLevel();
         return createExercise(topic, numberOfQuestions, userLevel.name());
     }
 
     private ExerciseStartedResponse createExercise(String topic, int questionsCount, String level) {
-        String exerciseId = UUID.randomUUID().toString().substring(0, 8);
-
         // Generate questions using AI
-        List<GeneratedQuestion> generatedQuestions =
-            vocabularyGenerationService.generateQuestions(topic, level, questionsCount);
+        return startExercise(topic, level, vocabularyGenerationService.generateQuestions(topic, level, questionsCount));
+    }
+
+    private ExerciseStartedResponse startExercise(String topic, String level, List<GeneratedQuestion> generatedQuestions) {
+        String exerciseId = UUID.randomUUID().toString().substring(0, 8);
 
         // Convert to internal QuestionData format
         List<QuestionData> questions = generatedQuestions.stream()
@@ -139,7 +158,7 @@ public class VocabularyExerciseTools {
             ))
             .toList();
 
-        ExerciseState state = new ExerciseState(exerciseId, List.of(topic), questions);
+        ExerciseState state = new ExerciseState(exerciseId, userProfileService.getSessionId(), List.of(topic), level, questions);
         activeExercises.put(exerciseId, state);
 
         QuestionData firstQuestion = questions.get(0);
@@ -156,6 +175,8 @@ public class VocabularyExerciseTools {
         Call this when the user provides their guess for the missing word.
         Returns whether the answer was correct, the correct word if wrong,
         and the next question if the exercise isn't complete yet.
+        matchType is EXACT, INFLECTION (another form of the target word, accepted) or WRONG.
+        When exerciseComplete is true, summary holds the exercise results.
         """)
     public AnswerResponse submitAnswer(
             @P("The exercise ID from when the exercise was started")
@@ -163,37 +184,62 @@ public class VocabularyExerciseTools {
             @P("The user's answer - the German word they think fills the blank")
             String answer) {
 
-        log.info("Submitting answer for exercise {}: {}", exerciseId, answer);
+        log.debug("Submitting answer for exercise {}: {}", exerciseId, answer);
 
         ExerciseState state = activeExercises.get(exerciseId);
         if (state == null) {
-            return new AnswerResponse(false, answer, null,
+            return new AnswerResponse(false, null, answer, null,
                 "Exercise not found. Please start a new exercise.",
-                true, null, null);
+                true, null, null, null);
         }
 
+        synchronized (state) {
+            if (state.isComplete()) {
+                return new AnswerResponse(false, null, answer, null,
+                    "This exercise is already complete.",
+                    true, null, null, state.getSummary());
+            }
+            return scoreAnswer(state, answer, state.elapsedOnQuestionMillis());
+        }
+    }
+
+    private AnswerResponse scoreAnswer(ExerciseState state, String answer, long elapsedMillis) {
         QuestionData currentQuestion = state.getCurrentQuestion();
-        boolean isCorrect = normalizeAnswer(answer).equals(normalizeAnswer(currentQuestion.targetWord()));
+        AnswerMatch match = germanLexicon.classify(normalizeAnswer(answer), normalizeAnswer(currentQuestion.targetWord()));
+        boolean isCorrect = match != AnswerMatch.WRONG;
 
         state.recordAnswer(answer, isCorrect);
         state.moveToNext();
+        maybePrefetch(state);
 
         boolean exerciseComplete = state.isComplete();
+        publish(state, LearningEvent.Type.ANSWER, isCorrect, elapsedMillis);
+        if (exerciseComplete) {
+            publish(state, LearningEvent.Type.EXERCISE_COMPLETE, false, 0);
+        }
         QuestionData nextQuestion = exerciseComplete ? null : state.getCurrentQuestion();
 
-        String explanation = isCorrect ? null :
-            String.format("The correct word was '%s' (%s).",
+        String explanation = switch (match) {
+            case EXACT -> null;
+            case INFLECTION -> String.format("Accepted: '%s' is a form of the right word, but this sentence needs '%s' (%s).",
+                answer,
+                currentQuestion.targetWord(),
+                currentQuestion.englishWord());
+            case WRONG -> String.format("The correct word was '%s' (%s).",
                 currentQuestion.targetWord(),
                 currentQuestion.englishWord());
+        };
 
         return new AnswerResponse(
             isCorrect,
+            match.name(),
             answer,
             currentQuestion.targetWord(),
             explanation,
             exerciseComplete,
             exerciseComplete ? null : state.getCurrentIndex() + 1,
-            exerciseComplete ? null : nextQuestion.sentenceWithBlank()
+            exerciseComplete ? null : nextQuestion.sentenceWithBlank(),
+            exerciseComplete ? state.getSummary() : null
         );
     }
 
@@ -206,7 +252,7 @@ public class VocabularyExerciseTools {
             @P("The exercise ID")
             String exerciseId) {
 
-        log.info("Translation requested for exercise {}", exerciseId);
+        log.debug("Translation requested for exercise {}", exerciseId);
 
         ExerciseState state = activeExercises.get(exerciseId);
         if (state == null) {
@@ -216,36 +262,58 @@ public class VocabularyExerciseTools {
             );
         }
 
-        state.markHintUsed();
-        QuestionData currentQuestion = state.getCurrentQuestion();
+        synchronized (state) {
+            if (state.isComplete()) {
+                return new TranslationResponse("This exercise is already complete.", null);
+            }
+            if (state.markHintUsed()) {
+                publish(state, LearningEvent.Type.HINT, false, 0);
+            }
+            QuestionData currentQuestion = state.getCurrentQuestion();
 
-        return new TranslationResponse(
-            currentQuestion.englishTranslation(),
-            currentQuestion.sentenceWithBlank()
-        );
+            return new TranslationResponse(
+                currentQuestion.englishTranslation(),
+                currentQuestion.sentenceWithBlank()
+            );
+        }
     }
 
     @Tool("""
         Skips the current question and moves to the next one.
         Call this when the user wants to skip, give up, or says they can't answer.
         Returns the correct answer for the skipped question and the next question.
+        When exerciseComplete is true, summary holds the exercise results.
         """)
     public SkipResponse skipQuestion(
             @P("The exercise ID")
             String exerciseId) {
 
-        log.info("Skipping question for exercise {}", exerciseId);
+        log.debug("Skipping question for exercise {}", exerciseId);
 
         ExerciseState state = activeExercises.get(exerciseId);
         if (state == null) {
-            return new SkipResponse(null, null, true, null, null);
+            return new SkipResponse(null, null, true, null, null, null);
         }
 
+        synchronized (state) {
+            if (state.isComplete()) {
+                return new SkipResponse(null, null, true, null, null, state.getSummary());
+            }
+            return skipCurrentQuestion(state, state.elapsedOnQuestionMillis());
+        }
+    }
+
+    private SkipResponse skipCurrentQuestion(ExerciseState state, long elapsedMillis) {
         QuestionData skippedQuestion = state.getCurrentQuestion();
         state.recordSkip();
         state.moveToNext();
+        maybePrefetch(state);
 
         boolean exerciseComplete = state.isComplete();
+        publish(state, LearningEvent.Type.SKIP, false, elapsedMillis);
+        if (exerciseComplete) {
+            publish(state, LearningEvent.Type.EXERCISE_COMPLETE, false, 0);
+        }
         QuestionData nextQuestion = exerciseComplete ? null : state.getCurrentQuestion();
 
         return new SkipResponse(
@@ -253,34 +321,122 @@ public class VocabularyExerciseTools {
             skippedQuestion.completeSentence(),
             exerciseComplete,
             exerciseComplete ? null : state.getCurrentIndex() + 1,
-            exerciseComplete ? null : nextQuestion.sentenceWithBlank()
+            exerciseComplete ? null : nextQuestion.sentenceWithBlank(),
+            exerciseComplete ? state.getSummary() : null
         );
     }
 
     @Tool("""
         Gets a summary of the exercise with statistics and results.
-        Call this when the exercise is finished or when the user asks for their results.
+        Call this when the user asks for their results before the exercise is finished;
+        the final submitAnswer or skipQuestion response already includes the summary.
         Returns accuracy, hints used, and the words that were missed.
         """)
+    @ReadOnlyTool
     public ExerciseSummaryResponse getExerciseSummary(
             @P("The exercise ID")
             String exerciseId) {
 
-        log.info("Getting summary for exercise {}", exerciseId);
+        log.debug("Getting summary for exercise {}", exerciseId);
+
+        return findExerciseSummary(exerciseId)
+            .orElseGet(() -> new ExerciseSummaryResponse(0, 0, 0, 0, 0.0, List.of()));
+    }
 
+    public Optional<ExerciseSummaryResponse> findExerciseSummary(String exerciseId) {
         ExerciseState state = activeExercises.get(exerciseId);
         if (state == null) {
-            return new ExerciseSummaryResponse(0, 0, 0, 0, 0.0, List.of());
+            return Optional.empty();
         }
+        synchronized (state) {
+            return Optional.of(state.getSummary());
+        }
+    }
 
-        return state.getSummary();
+    /**
+     * Lists every question of an exercise without revealing the answers, for clients that
+     * present the whole exercise at once.
+     */
+    public Optional<ExerciseQuestionsResponse> getQuestions(String exerciseId) {
+        ExerciseState state = activeExercises.get(exerciseId);
+        if (state == null) {
+            return Optional.empty();
+        }
+
+        synchronized (state) {
+            List<QuestionData> questions = state.getQuestions();
+            List<QuizQuestion> quizQuestions = new ArrayList<>(questions.size());
+            for (int i = 0; i < questions.size(); i++) {
+                quizQuestions.add(new QuizQuestion(i + 1, questions.get(i).sentenceWithBlank()));
+            }
+            return Optional.of(new ExerciseQuestionsResponse(
+                exerciseId,
+                state.isComplete() ? null : state.getCurrentIndex() + 1,
+                questions.size(),
+                quizQuestions
+            ));
+        }
+    }
+
+    /**
+     * Scores answers for the remaining questions in one go (quiz mode), without involving the
+     * model. Answers are matched to questions in order from the current one; a blank answer
+     * skips its question and surplus answers are ignored. The time since the current question
+     * was shown is split evenly across the submitted answers.
+     */
+    public Optional<QuizResultResponse> submitAllAnswers(String exerciseId, List<String> answers) {
+        ExerciseState state = activeExercises.get(exerciseId);
+        if (state == null) {
+            return Optional.empty();
+        }
+
+        synchronized (state) {
+            int count = Math.min(answers.size(), state.getRemainingCount());
+            long elapsedShare = count == 0 ? 0 : state.elapsedOnQuestionMillis() / count;
+            List<AnswerResponse> results = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                String answer = answers.get(i);
+                if (answer == null || answer.isBlank()) {
+                    SkipResponse skip = skipCurrentQuestion(state, elapsedShare);
+                    results.add(new AnswerResponse(
+                        false,
+                        null,
+                        answer,
+                        skip.skippedWord(),
+                        String.format("Skipped. The correct word was '%s'.", skip.skippedWord()),
+                        skip.exerciseComplete(),
+                        skip.nextQuestionNumber(),
+                        skip.nextSentence(),
+                        skip.summary()
+                    ));
+                } else {
+                    results.add(scoreAnswer(state, answer, elapsedShare));
+                }
+            }
+            return Optional.of(new QuizResultResponse(exerciseId, results, state.getSummary()));
+        }
+    }
+
+    private void maybePrefetch(ExerciseState state) {
+        if (exercisePrefetcher.isDue(state.getRemainingCount()) && state.markPrefetchRequested()) {
+            exercisePrefetcher.prefetch(state.getUserId(), state.getPrimaryTopic(), state.getLevel(),
+                state.getQuestions().size(), state.getTargetWords(), state.getCorrectCount(), state.getAttemptedCount());
+        }
     }
 
+    private void publish(ExerciseState state, LearningEvent.Type type, boolean correct, long elapsedMillis) {
+        learningStatsService.publish(new LearningEvent(
+            type, state.getUserId(), state.getPrimaryTopic(), state.getLevel(), correct, elapsedMillis));
+    }
+
+    /**
+     * Strips a leading article. Keeps the case, which the lexicon uses to tell nouns from
+     * verb and adjective homographs; the comparison itself ignores case.
+     */
     private String normalizeAnswer(String answer) {
         if (answer == null) return "";
-        String normalized = answer.trim().toLowerCase();
-        normalized = normalized.replaceAll("^(der|die|das|ein|eine|einen|einem|einer)\\s+", "");
-        return normalized;
+        return answer.trim().replaceAll("(?i)^(der|die|das|ein|eine|einen|einem|einer)\\s+", "");
     }
 
     // Inner classes for state management
@@ -289,17 +445,24 @@ public class VocabularyExerciseTools {
 
     private static class ExerciseState {
         private final String id;
+        private final String userId;
         private final List<String> topics;
+        private final String level;
         private final List<QuestionData> questions;
         private final List<AttemptRecord> attempts;
         private int currentIndex;
+        private long questionStartedAt;
+        private boolean prefetchRequested;
 
-        ExerciseState(String id, List<String> topics, List<QuestionData> questions) {
+        ExerciseState(String id, String userId, List<String> topics, String level, List<QuestionData> questions) {
             this.id = id;
+            this.userId = userId;
             this.topics = new ArrayList<>(topics);
+            this.level = level;
             this.questions = new ArrayList<>(questions);
             this.attempts = new ArrayList<>();
             this.currentIndex = 0;
+            this.questionStartedAt = System.nanoTime();
             for (int i = 0; i < questions.size(); i++) {
                 attempts.add(new AttemptRecord());
             }
@@ -311,9 +474,43 @@ public class VocabularyExerciseTools {
         }
 
         int getCurrentIndex() { return currentIndex; }
-        void moveToNext() { currentIndex++; }
+        int getRemainingCount() { return Math.max(questions.size() - currentIndex, 0); }
+        List<QuestionData> getQuestions() { return questions; }
+
+        Set<String> getTargetWords() {
+            Set<String> words = new HashSet<>();
+            for (QuestionData question : questions) {
+                if (question.targetWord() != null) words.add(question.targetWord());
+            }
+            return words;
+        }
+
+        int getCorrectCount() {
+            return (int) attempts.stream().filter(record -> record.correct).count();
+        }
+
+        int getAttemptedCount() {
+            return (int) attempts.stream().filter(record -> record.answered).count();
+        }
+
+        /**
+         * Marks that the follow-up exercise has been requested; returns false if it already was.
+         */
+        boolean markPrefetchRequested() {
+            if (prefetchRequested) return false;
+            prefetchRequested = true;
+            return true;
+        }
+        String getUserId() { return userId; }
+        String getPrimaryTopic() { return topics.isEmpty() ? null : topics.get(0); }
+        String getLevel() { return level; }
         boolean isComplete() { return currentIndex >= questions.size(); }
 
+        void moveToNext() {
+            currentIndex++;
+            questionStartedAt = System.nanoTime();
+        }
+
         void recordAnswer(String answer, boolean correct) {
             if (currentIndex < attempts.size()) {
                 AttemptRecord record = attempts.get(currentIndex);
@@ -331,10 +528,22 @@ public class VocabularyExerciseTools {
             }
         }
 
-        void markHintUsed() {
-            if (currentIndex < attempts.size()) {
+        /**
+         * Marks the current question as hinted; returns false if it already was.
+         */
+        boolean markHintUsed() {
+            if (currentIndex < attempts.size() && !attempts.get(currentIndex).hintUsed) {
                 attempts.get(currentIndex).hintUsed = true;
+                return true;
             }
+            return false;
+        }
+
+        /**
+         * Time spent on the current question so far, in milliseconds.
+         */
+        long elapsedOnQuestionMillis() {
+            return (System.nanoTime() - questionStartedAt) / 1_000_000;
         }
 
         ExerciseSummaryResponse getSummary() {
@@ -0,0 +1,102 @@
+package com.kensai.sandbox.lexio.ai.tracing;
+
+import dev.langchain4j.model.chat.listener.ChatModelErrorContext;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.listener.ChatModelRequestContext;
+import dev.langchain4j.model.chat.listener.ChatModelResponseContext;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens one {@code lexio.llm.request} span per round-trip to the model, so a chat turn that
+ * loops through several tool calls shows each request separately. Token counts go into
+ * high-cardinality key values: they become span attributes but never meter tags.
+ *
+ * <p>Each request also increments the counter of the nearest enclosing observation that
+ * carries one (see {@link #countModelRequests}), so a chat turn learns how many model
+ * requests it caused, including those made by its tools.
+ */
+public class TracingChatModelListener implements ChatModelListener {
+
+    private static final String OBSERVATION_ATTRIBUTE = TracingChatModelListener.class.getName() + ".observation";
+    private static final String REQUEST_COUNTER = TracingChatModelListener.class.getName() + ".requests";
+
+    private final ObservationRegistry observationRegistry;
+
+    public TracingChatModelListener(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Counts the model requests made within {@code observation} from now on, on any thread
+     * its context is propagated to.
+     */
+    public static AtomicInteger countModelRequests(Observation observation) {
+        AtomicInteger counter = new AtomicInteger();
+        observation.getContext().put(REQUEST_COUNTER, counter);
+        return counter;
+    }
+
+    @Override
+    public void onRequest(ChatModelRequestContext context) {
+        String model = context.chatRequest().modelName();
+        Observation observation = Observation.createNotStarted("lexio.llm.request", observationRegistry)
+            .contextualName("chat " + (model != null ? model : "model"))
+            .lowCardinalityKeyValue("gen_ai.system", context.modelProvider().name().toLowerCase())
+            .lowCardinalityKeyValue("gen_ai.request.model", model != null ? model : "unknown")
+            .highCardinalityKeyValue("gen_ai.request.messages", String.valueOf(context.chatRequest().messages().size()))
+            .start();
+        context.attributes().put(OBSERVATION_ATTRIBUTE, observation);
+        incrementRequestCounter(observation.getContextView().getParentObservation());
+    }
+
+    @Override
+    public void onResponse(ChatModelResponseContext context) {
+        Observation observation = (Observation) context.attributes().remove(OBSERVATION_ATTRIBUTE);
+        if (observation == null) return;
+
+        ChatResponse response = context.chatResponse();
+        TokenUsage usage = response.tokenUsage();
+        if (usage != null) {
+            highCardinality(observation, "gen_ai.usage.input_tokens", usage.inputTokenCount());
+            highCardinality(observation, "gen_ai.usage.output_tokens", usage.outputTokenCount());
+        }
+        if (response.finishReason() != null) {
+            observation.highCardinalityKeyValue("gen_ai.response.finish_reason", response.finishReason().name().toLowerCase());
+        }
+        if (response.aiMessage() != null && response.aiMessage().hasToolExecutionRequests()) {
+            highCardinality(observation, "gen_ai.response.tool_calls", response.aiMessage().toolExecutionRequests().size());
+        }
+        observation.stop();
+    }
+
+    @Override
+    public void onError(ChatModelErrorContext context) {
+        Observation observation = (Observation) context.attributes().remove(OBSERVATION_ATTRIBUTE);
+        if (observation == null) return;
+        observation.error(context.error());
+        observation.stop();
+    }
+
+    private static void incrementRequestCounter(ObservationView parent) {
+        for (ObservationView current = parent; current != null;
+             current = current.getContextView().getParentObservation()) {
+            AtomicInteger counter = current.getContextView().get(REQUEST_COUNTER);
+            if (counter != null) {
+                counter.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static void highCardinality(Observation observation, String key, Integer value) {
+        if (value != null) {
+            observation.highCardinalityKeyValue(key, value.toString());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kensai.sandbox.lexio.ai.tracing;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executors that carry the submitting thread's current observation into their tasks, so
+ * spans opened on a virtual thread stay children of the span that handed them the work.
+ */
+public final class TracingExecutors {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private TracingExecutors() {
+    }
+
+    public static ExecutorService propagating(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, SNAPSHOTS::captureAll);
+    }
+}
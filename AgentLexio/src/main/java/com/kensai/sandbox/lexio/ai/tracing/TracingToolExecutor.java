@@ -0,0 +1,63 @@
+package com.kensai.sandbox.lexio.ai.tracing;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.agent.tool.ToolSpecifications;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.service.tool.DefaultToolExecutor;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs a tool inside a {@code lexio.tool} span named after the tool.
+ */
+public class TracingToolExecutor implements ToolExecutor {
+
+    private final ToolExecutor delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public TracingToolExecutor(ToolExecutor delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Builds the same tool map {@code AiServices.tools(Object...)} would, with every
+     * {@link Tool} method of {@code tools} wrapped in a tracing executor.
+     */
+    public static Map<ToolSpecification, ToolExecutor> tracedTools(Object tools, ObservationRegistry observationRegistry) {
+        Map<ToolSpecification, ToolExecutor> executors = new LinkedHashMap<>();
+        for (Method method : tools.getClass().getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Tool.class)) {
+                executors.put(ToolSpecifications.toolSpecificationFrom(method),
+                    new TracingToolExecutor(new DefaultToolExecutor(tools, method), observationRegistry));
+            }
+        }
+        return executors;
+    }
+
+    @Override
+    public String execute(ToolExecutionRequest request, Object memoryId) {
+        return observe(request, () -> delegate.execute(request, memoryId));
+    }
+
+    @Override
+    public ToolExecutionResult executeWithContext(ToolExecutionRequest request, InvocationContext context) {
+        return observe(request, () -> delegate.executeWithContext(request, context));
+    }
+
+    private <T> T observe(ToolExecutionRequest request, Supplier<T> execution) {
+        return Observation.createNotStarted("lexio.tool", observationRegistry)
+            .contextualName("tool " + request.name())
+            .lowCardinalityKeyValue("tool.name", request.name())
+            .observe(execution);
+    }
+}
@@ -2,17 +2,98 @@ package com.kensai.sandbox.lexio.config;
 
 import com.kensai.sandbox.lexio.ai.assistant.LexioAssistant;
 import com.kensai.sandbox.lexio.ai.assistant.VocabularyGenerator;
+import com.kensai.sandbox.lexio.ai.http.ConnectionReuseTracker;
+import com.kensai.sandbox.lexio.ai.http.PooledHttpClientBuilder;
+import com.kensai.sandbox.lexio.ai.resilience.GuardedChatModel;
+import com.kensai.sandbox.lexio.ai.resilience.LlmCallExecutor;
+import com.kensai.sandbox.lexio.ai.tracing.TracingChatModelListener;
+import com.kensai.sandbox.lexio.ai.tracing.TracingExecutors;
+import com.kensai.sandbox.lexio.ai.tracing.TracingToolExecutor;
+import com.kensai.sandbox.lexio.ai.tools.ToolCallSequencer;
 import com.kensai.sandbox.lexio.ai.tools.VocabularyExerciseTools;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.anthropic.AnthropicChatModel;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.service.AiServices;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AiServices proxies are built lazily: building them reflects over the interfaces and
+ * tool classes, which is wasted work at startup when a pod may not serve a chat turn for
+ * a while. Injection points are marked {@code @Lazy} as well so the proxies are created on
+ * first use.
+ */
 @Configuration
 public class AiConfiguration {
 
+    /**
+     * Runs the HTTP client's response handling. Not a default candidate, so it neither
+     * replaces Spring Boot's application task executor nor gets injected anywhere else.
+     */
+    @Bean(destroyMethod = "close", defaultCandidate = false)
+    public ExecutorService anthropicHttpExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * One HTTP/2-capable client for all Anthropic traffic, so the model and the
+     * {@link com.kensai.sandbox.lexio.ai.http.ConnectionWarmer} share a connection pool.
+     * How long idle connections stay pooled is a JVM-wide setting of the JDK client
+     * ({@code jdk.httpclient.keepalive.timeout}), passed on the command line.
+     */
+    @Bean(destroyMethod = "close")
+    public HttpClient anthropicHttpClient(AnthropicHttpProperties properties,
+                                          @Qualifier("anthropicHttpExecutor") ExecutorService anthropicHttpExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .executor(anthropicHttpExecutor)
+                .build();
+    }
+
     @Bean
+    public ConnectionReuseTracker connectionReuseTracker(MeterRegistry meterRegistry) {
+        return new ConnectionReuseTracker(meterRegistry);
+    }
+
+    /**
+     * Replaces the starter's model bean, whose auto-configuration is excluded in
+     * application.properties, to plug in the pooled client and tracing listener.
+     */
+    @Bean
+    public ChatModel chatModel(
+            HttpClient anthropicHttpClient,
+            AnthropicHttpProperties properties,
+            ConnectionReuseTracker connectionReuseTracker,
+            ObservationRegistry observationRegistry,
+            @Value("${langchain4j.anthropic.chat-model.api-key}") String apiKey,
+            @Value("${langchain4j.anthropic.chat-model.model-name}") String modelName,
+            @Value("${langchain4j.anthropic.chat-model.max-tokens:4096}") int maxTokens) {
+
+        return AnthropicChatModel.builder()
+                .httpClientBuilder(new PooledHttpClientBuilder(
+                        anthropicHttpClient, properties.readTimeout(), properties.compression(), connectionReuseTracker))
+                .baseUrl(properties.baseUrl())
+                .apiKey(apiKey)
+                .modelName(modelName)
+                .maxTokens(maxTokens)
+                .listeners(List.of(new TracingChatModelListener(observationRegistry)))
+                .build();
+    }
+
+    @Bean
+    @Lazy
     public VocabularyGenerator vocabularyGenerator(ChatModel chatModel) {
         return AiServices.builder(VocabularyGenerator.class)
                 .chatModel(chatModel)
@@ -20,13 +101,24 @@ public class AiConfiguration {
     }
 
     @Bean
+    @Lazy
     public LexioAssistant lexioAssistant(
             ChatModel chatModel,
-            VocabularyExerciseTools vocabularyExerciseTools) {
+            VocabularyExerciseTools vocabularyExerciseTools,
+            LlmCallExecutor llmCallExecutor,
+            LlmResilienceProperties resilienceProperties,
+            ObservationRegistry observationRegistry) {
 
+        ToolCallSequencer toolCallSequencer = new ToolCallSequencer();
         return AiServices.builder(LexioAssistant.class)
-                .chatModel(chatModel)
-                .tools(vocabularyExerciseTools)
+                .chatModel(new GuardedChatModel(chatModel, llmCallExecutor, resilienceProperties.assistantDeadline()))
+                // Several tool calls in one model response run in parallel, except that tools
+                // changing profile or exercise state still run in the order they were requested
+                .tools(toolCallSequencer.sequenced(
+                        TracingToolExecutor.tracedTools(vocabularyExerciseTools, observationRegistry),
+                        vocabularyExerciseTools))
+                .executeToolsConcurrently(toolCallSequencer.executor(
+                        TracingExecutors.propagating(Executors.newVirtualThreadPerTaskExecutor())))
                 .chatMemory(MessageWindowChatMemory.builder()
                         .maxMessages(50)
                         .build())
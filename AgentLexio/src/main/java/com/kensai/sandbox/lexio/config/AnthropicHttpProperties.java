@@ -0,0 +1,26 @@
+package com.kensai.sandbox.lexio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * HTTP transport settings for calls to the Anthropic API.
+ *
+ * @param warmupTimeout       time allowed for a warm-up request, connection setup included
+ * @param warmupIdleThreshold connections are re-warmed after at most this much time without
+ *                            traffic; lowered to fit the JDK client's keep-alive timeout
+ * @param warmupCheckInterval how often the time without traffic is checked
+ */
+@ConfigurationProperties(prefix = "lexio.http")
+public record AnthropicHttpProperties(
+    @DefaultValue("https://api.anthropic.com/v1/") String baseUrl,
+    @DefaultValue("5s") Duration connectTimeout,
+    @DefaultValue("60s") Duration readTimeout,
+    @DefaultValue("true") boolean compression,
+    @DefaultValue("true") boolean warmupEnabled,
+    @DefaultValue("10s") Duration warmupTimeout,
+    @DefaultValue("4m") Duration warmupIdleThreshold,
+    @DefaultValue("10s") Duration warmupCheckInterval
+) {}
@@ -0,0 +1,13 @@
+package com.kensai.sandbox.lexio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lexio.stats")
+public record LearningStatsProperties(
+    @DefaultValue("8192") int bufferCapacity,
+    @DefaultValue("256") int drainBatchSize,
+    @DefaultValue("10s") Duration flushInterval
+) {}
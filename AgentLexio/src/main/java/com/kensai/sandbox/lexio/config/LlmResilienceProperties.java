@@ -0,0 +1,22 @@
+package com.kensai.sandbox.lexio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lexio.llm.resilience")
+public record LlmResilienceProperties(
+    @DefaultValue("20s") Duration assessDeadline,
+    @DefaultValue("60s") Duration generateDeadline,
+    @DefaultValue("120s") Duration chatDeadline,
+    @DefaultValue("60s") Duration assistantDeadline,
+    @DefaultValue("true") boolean hedgeEnabled,
+    @DefaultValue("0.95") double hedgePercentile,
+    @DefaultValue("3s") Duration hedgeMinDelay,
+    @DefaultValue("20") int hedgeMinSamples,
+    @DefaultValue("20") int breakerWindowSize,
+    @DefaultValue("5") int breakerMinimumCalls,
+    @DefaultValue("0.5") double breakerFailureRateThreshold,
+    @DefaultValue("30s") Duration breakerOpenDuration
+) {}
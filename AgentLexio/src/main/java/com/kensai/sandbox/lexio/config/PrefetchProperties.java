@@ -0,0 +1,21 @@
+package com.kensai.sandbox.lexio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param triggerRemaining start generating the next exercise once this many questions are left
+ * @param ttl how long a prefetched exercise is kept for the learner before it is discarded
+ * @param raiseLevelAccuracy running accuracy at or above which the next exercise is one level harder
+ * @param lowerLevelAccuracy running accuracy below which the next exercise is one level easier
+ */
+@ConfigurationProperties(prefix = "lexio.prefetch")
+public record PrefetchProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("2") int triggerRemaining,
+    @DefaultValue("10m") Duration ttl,
+    @DefaultValue("0.85") double raiseLevelAccuracy,
+    @DefaultValue("0.5") double lowerLevelAccuracy
+) {}
@@ -0,0 +1,17 @@
+package com.kensai.sandbox.lexio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param fanOutThreshold requests for more questions than this are split into concurrent chunks
+ * @param fanOutChunkSize maximum number of questions per chunk, before spares
+ * @param fanOutSpare     extra questions requested per chunk to make up for words two chunks both produce
+ */
+@ConfigurationProperties(prefix = "lexio.generation")
+public record VocabularyGenerationProperties(
+    @DefaultValue("true") boolean fanOutEnabled,
+    @DefaultValue("5") int fanOutThreshold,
+    @DefaultValue("3") int fanOutChunkSize,
+    @DefaultValue("1") int fanOutSpare
+) {}
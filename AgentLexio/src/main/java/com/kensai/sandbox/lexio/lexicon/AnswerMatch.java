@@ -0,0 +1,9 @@
+package com.kensai.sandbox.lexio.lexicon;
+
+public enum AnswerMatch {
+    /** The answer is the target word. */
+    EXACT,
+    /** The answer is another inflected form of the target word's lemma. */
+    INFLECTION,
+    WRONG
+}
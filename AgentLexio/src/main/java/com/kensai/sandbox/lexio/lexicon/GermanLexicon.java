@@ -0,0 +1,51 @@
+package com.kensai.sandbox.lexio.lexicon;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * German word-form lexicon loaded at startup from the bundled word-form list.
+ * Used to accept answers that are a different inflection of the expected word.
+ */
+@Slf4j
+@Component
+public class GermanLexicon {
+
+    static final String WORD_FORMS_RESOURCE = "lexicon/german-word-forms.txt";
+
+    private final LexiconIndex index;
+
+    public GermanLexicon() {
+        long start = System.nanoTime();
+        try (InputStream in = new ClassPathResource(WORD_FORMS_RESOURCE).getInputStream()) {
+            this.index = LexiconIndex.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + WORD_FORMS_RESOURCE, e);
+        }
+        log.info("Loaded German lexicon: {} lemmas, {} forms, ~{} KB in {} ms",
+            index.lemmaCount(), index.formCount(), index.footprintBytes() / 1024,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Classifies an answer against the target word. Both are expected without articles and
+     * in the case they were written in, which tells nouns from their homographs.
+     */
+    public AnswerMatch classify(String answer, String targetWord) {
+        String normalizedAnswer = LexiconIndex.normalize(answer);
+        String normalizedTarget = LexiconIndex.normalize(targetWord);
+
+        if (normalizedAnswer.equals(normalizedTarget)) return AnswerMatch.EXACT;
+        if (normalizedAnswer.isEmpty()) return AnswerMatch.WRONG;
+        return index.sharesLemma(answer, targetWord) ? AnswerMatch.INFLECTION : AnswerMatch.WRONG;
+    }
+
+    LexiconIndex getIndex() {
+        return index;
+    }
+}
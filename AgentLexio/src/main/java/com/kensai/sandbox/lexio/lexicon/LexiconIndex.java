@@ -0,0 +1,241 @@
+package com.kensai.sandbox.lexio.lexicon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable form-to-lemma index over a sorted primitive-array layout.
+ *
+ * <p>All lower-cased word forms are stored back to back as Latin-1 bytes in one pool,
+ * sorted, with an offset table and a parallel array of lemma ids. Lookups binary-search
+ * the offsets and compare the query against the pool in place, so a lookup allocates
+ * nothing. A form belonging to several lemmas (e.g. "sein") occupies adjacent slots.
+ *
+ * <p>Lower-casing merges nouns with verb and adjective homographs ("Arm" and "arm",
+ * "Zahlen" and "zahlen"), so every lemma remembers whether it is a noun, i.e. capitalized.
+ * Lookups that take the spelling as written only consider lemmas of the same case, and
+ * fall back to the other case only when the form has no lemma of its own case.
+ */
+public final class LexiconIndex {
+
+    private static final int NOT_FOUND = -1;
+    private static final int AMBIGUOUS = -2;
+
+    private final byte[] pool;
+    private final int[] offsets;
+    private final int[] lemmaIds;
+    private final String[] lemmas;
+    private final boolean[] nouns;
+
+    private LexiconIndex(byte[] pool, int[] offsets, int[] lemmaIds, String[] lemmas) {
+        this.pool = pool;
+        this.offsets = offsets;
+        this.lemmaIds = lemmaIds;
+        this.lemmas = lemmas;
+        this.nouns = new boolean[lemmas.length];
+        for (int i = 0; i < lemmas.length; i++) {
+            nouns[i] = isCapitalized(lemmas[i]);
+        }
+    }
+
+    /**
+     * Reads lines of the form {@code lemma<TAB>form form ...}; blank lines and lines
+     * starting with {@code #} are ignored. The lemma itself is indexed as a form.
+     */
+    public static LexiconIndex load(InputStream in) throws IOException {
+        List<String> lemmaList = new ArrayList<>();
+        TreeMap<String, List<Integer>> entries = new TreeMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] columns = line.split("\t", 2);
+                int lemmaId = lemmaList.size();
+                lemmaList.add(columns[0].trim());
+
+                addForm(entries, columns[0], lemmaId);
+                if (columns.length > 1) {
+                    for (String form : columns[1].trim().split(" +")) {
+                        addForm(entries, form, lemmaId);
+                    }
+                }
+            }
+        }
+        return build(entries, lemmaList);
+    }
+
+    private static void addForm(Map<String, List<Integer>> entries, String form, int lemmaId) {
+        String normalized = normalize(form);
+        if (normalized.isEmpty() || !isLatin1(normalized)) return;
+        List<Integer> ids = entries.computeIfAbsent(normalized, k -> new ArrayList<>(1));
+        if (!ids.contains(lemmaId)) ids.add(lemmaId);
+    }
+
+    private static LexiconIndex build(TreeMap<String, List<Integer>> entries, List<String> lemmaList) {
+        int slots = entries.values().stream().mapToInt(List::size).sum();
+        int poolSize = entries.entrySet().stream().mapToInt(e -> e.getKey().length() * e.getValue().size()).sum();
+
+        byte[] pool = new byte[poolSize];
+        int[] offsets = new int[slots + 1];
+        int[] lemmaIds = new int[slots];
+        int slot = 0;
+        int position = 0;
+
+        // TreeMap iteration order matches compareTo on Latin-1 strings, which is the
+        // unsigned byte order used by find()
+        for (Map.Entry<String, List<Integer>> entry : entries.entrySet()) {
+            byte[] bytes = entry.getKey().getBytes(StandardCharsets.ISO_8859_1);
+            for (int lemmaId : entry.getValue()) {
+                offsets[slot] = position;
+                lemmaIds[slot] = lemmaId;
+                System.arraycopy(bytes, 0, pool, position, bytes.length);
+                position += bytes.length;
+                slot++;
+            }
+        }
+        offsets[slots] = position;
+        return new LexiconIndex(pool, offsets, lemmaIds, lemmaList.toArray(String[]::new));
+    }
+
+    static String normalize(String word) {
+        return word == null ? "" : word.trim().toLowerCase(Locale.GERMAN);
+    }
+
+    static boolean isCapitalized(String word) {
+        for (int i = 0; word != null && i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (!Character.isWhitespace(c)) return Character.isUpperCase(c);
+        }
+        return false;
+    }
+
+    private static boolean isLatin1(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if {@code answer} is a form of the lemma {@code target} belongs to. Both
+     * are taken as written, so their case picks between noun and verb/adjective homographs.
+     *
+     * <p>The target must resolve to a single lemma: the one it is the citation form of, or
+     * its only lemma. A target that is an inflection of several lemmas (e.g. "heiße" of both
+     * "heißen" and "heiß") matches no other form, since it is unclear which word the
+     * question meant.
+     */
+    public boolean sharesLemma(String answer, String target) {
+        String normalizedTarget = normalize(target);
+        int t = find(normalizedTarget);
+        if (t == NOT_FOUND) return false;
+        int targetLemma = resolveLemma(t, normalizedTarget, caseOf(t, normalizedTarget, isCapitalized(target)));
+        if (targetLemma < 0) return false;
+
+        String normalizedAnswer = normalize(answer);
+        int a = find(normalizedAnswer);
+        if (a == NOT_FOUND) return false;
+        boolean answerNoun = caseOf(a, normalizedAnswer, isCapitalized(answer));
+        for (int i = a; i < lemmaIds.length && compare(i, normalizedAnswer) == 0; i++) {
+            if (lemmaIds[i] == targetLemma && nouns[targetLemma] == answerNoun) return true;
+        }
+        return false;
+    }
+
+    /**
+     * The case to resolve a form in: the case it was written in if the form has a lemma of
+     * that case, otherwise the other one.
+     */
+    private boolean caseOf(int first, String normalizedForm, boolean capitalized) {
+        for (int i = first; i < lemmaIds.length && compare(i, normalizedForm) == 0; i++) {
+            if (nouns[lemmaIds[i]] == capitalized) return capitalized;
+        }
+        return !capitalized;
+    }
+
+    private int resolveLemma(int first, String normalizedForm, boolean noun) {
+        int only = NOT_FOUND;
+        int citation = NOT_FOUND;
+        for (int i = first; i < lemmaIds.length && compare(i, normalizedForm) == 0; i++) {
+            int lemmaId = lemmaIds[i];
+            if (nouns[lemmaId] != noun) continue;
+            only = only == NOT_FOUND ? lemmaId : AMBIGUOUS;
+            if (lemmas[lemmaId].equalsIgnoreCase(normalizedForm)) {
+                citation = citation == NOT_FOUND ? lemmaId : AMBIGUOUS;
+            }
+        }
+        return citation != NOT_FOUND ? citation : only;
+    }
+
+    /**
+     * Returns the lemmas of a normalized form, or an empty list if the form is unknown.
+     */
+    public List<String> lemmasOf(String normalizedForm) {
+        int first = find(normalizedForm);
+        if (first == NOT_FOUND) return List.of();
+        List<String> result = new ArrayList<>(1);
+        for (int i = first; i < lemmaIds.length && compare(i, normalizedForm) == 0; i++) {
+            result.add(lemmas[lemmaIds[i]]);
+        }
+        return result;
+    }
+
+    public boolean contains(String normalizedForm) {
+        return find(normalizedForm) != NOT_FOUND;
+    }
+
+    public int formCount() {
+        return lemmaIds.length;
+    }
+
+    public int lemmaCount() {
+        return lemmas.length;
+    }
+
+    /**
+     * Approximate retained heap size of the index in bytes, excluding object headers of
+     * the arrays themselves.
+     */
+    public long footprintBytes() {
+        long lemmaBytes = 0;
+        for (String lemma : lemmas) {
+            // String header + byte[] header + Latin-1 contents, rounded to 8 bytes
+            lemmaBytes += 24 + ((16 + lemma.length() + 7) & ~7);
+        }
+        return pool.length + 4L * offsets.length + 4L * lemmaIds.length + 4L * lemmas.length + lemmaBytes;
+    }
+
+    /**
+     * Lower-bound binary search; returns the first slot holding the form.
+     */
+    private int find(String key) {
+        int low = 0;
+        int high = lemmaIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < lemmaIds.length && compare(low, key) == 0 ? low : NOT_FOUND;
+    }
+
+    private int compare(int slot, String key) {
+        int start = offsets[slot];
+        int length = offsets[slot + 1] - start;
+        int keyLength = key.length();
+        int n = Math.min(length, keyLength);
+        for (int i = 0; i < n; i++) {
+            int diff = (pool[start + i] & 0xFF) - key.charAt(i);
+            if (diff != 0) return diff;
+        }
+        return length - keyLength;
+    }
+}
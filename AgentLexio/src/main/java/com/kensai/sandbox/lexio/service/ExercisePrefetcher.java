@@ -0,0 +1,209 @@
+package com.kensai.sandbox.lexio.service;
+
+import com.kensai.sandbox.lexio.ai.tracing.TracingExecutors;
+import com.kensai.sandbox.lexio.config.PrefetchProperties;
+import com.kensai.sandbox.lexio.service.UserProfileService.CefrLevel;
+import com.kensai.sandbox.lexio.service.VocabularyGenerationService.GeneratedQuestion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Speculatively generates a learner's next exercise while they finish the current one.
+ *
+ * <p>Learners nearly always ask for another exercise on the same topic. Once an exercise is
+ * almost done, the next one is generated in the background (same topic, without the words
+ * just practiced, level nudged by the running accuracy) and parked in a per-session slot.
+ * A request for that topic within the TTL claims it instead of assessing and generating
+ * from scratch; a slot that is replaced or expires unclaimed counts as waste, as does one
+ * that cannot be served (model unavailable, too few questions, above the learner's level,
+ * or still generating when claimed).
+ */
+@Slf4j
+@Component
+public class ExercisePrefetcher implements DisposableBean {
+
+    private static final int MIN_ATTEMPTS_FOR_LEVEL_CHANGE = 2;
+
+    public record Prefetched(String level, List<GeneratedQuestion> questions) {}
+
+    private record Slot(String topicKey, CefrLevel level, Future<Optional<List<GeneratedQuestion>>> questions,
+                        long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final PrefetchProperties properties;
+    private final VocabularyGenerationService vocabularyGenerationService;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final Counter issued;
+    private final Counter hits;
+    private final Counter expired;
+    private final Counter replaced;
+    private final Counter unusable;
+
+    @Autowired
+    public ExercisePrefetcher(PrefetchProperties properties,
+                              VocabularyGenerationService vocabularyGenerationService,
+                              MeterRegistry meterRegistry) {
+        this(properties, vocabularyGenerationService, meterRegistry,
+            TracingExecutors.propagating(Executors.newVirtualThreadPerTaskExecutor()));
+    }
+
+    ExercisePrefetcher(PrefetchProperties properties,
+                       VocabularyGenerationService vocabularyGenerationService,
+                       MeterRegistry meterRegistry,
+                       ExecutorService executor) {
+        this.properties = properties;
+        this.vocabularyGenerationService = vocabularyGenerationService;
+        this.executor = executor;
+        this.issued = counter(meterRegistry, "issued");
+        this.hits = counter(meterRegistry, "hit");
+        this.expired = counter(meterRegistry, "expired");
+        this.replaced = counter(meterRegistry, "replaced");
+        this.unusable = counter(meterRegistry, "unusable");
+        Gauge.builder("lexio.prefetch.hit.ratio", this, ExercisePrefetcher::hitRatio)
+            .description("Share of prefetched exercises that were served to the learner")
+            .register(meterRegistry);
+        Gauge.builder("lexio.prefetch.waste.ratio", this, ExercisePrefetcher::wasteRatio)
+            .description("Share of prefetched exercises that were generated but never served")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Whether an exercise with this many questions left should trigger a prefetch.
+     */
+    public boolean isDue(int remainingQuestions) {
+        return properties.enabled() && remainingQuestions <= properties.triggerRemaining();
+    }
+
+    /**
+     * Starts generating the next exercise for the session in the background, replacing any
+     * exercise already prefetched for it.
+     *
+     * @param practicedWords target words of the current exercise, excluded from the next one
+     * @param correct        correct answers so far in the current exercise
+     * @param attempted      answered or skipped questions so far in the current exercise
+     */
+    public void prefetch(String sessionId, String topic, String level, int questionCount,
+                         Set<String> practicedWords, int correct, int attempted) {
+        if (!properties.enabled() || topic == null) return;
+
+        CefrLevel nextLevel = nextLevel(CefrLevel.fromString(level), correct, attempted);
+        Set<String> excluded = Set.copyOf(practicedWords);
+        // Fresh questions only: stock questions would ignore the level and the practiced words
+        Future<Optional<List<GeneratedQuestion>>> questions = executor.submit(
+            () -> vocabularyGenerationService.generateFreshQuestions(topic, nextLevel.name(), questionCount, excluded));
+
+        Slot previous = slots.put(sessionId,
+            new Slot(topicKey(topic), nextLevel, questions, System.nanoTime() + properties.ttl().toNanos()));
+        issued.increment();
+        if (previous != null) {
+            previous.questions().cancel(true);
+            replaced.increment();
+        }
+        log.debug("Prefetching {} questions on '{}' at {} for session {}", questionCount, topic, nextLevel, sessionId);
+    }
+
+    /**
+     * Hands over the exercise prefetched for the session if it is on {@code topic}, at most at
+     * {@code maxLevel}, already generated and has at least {@code questionCount} fresh
+     * questions. Never waits: a prefetch still in progress is abandoned so the caller can
+     * generate directly. A slot for a different topic is left in place; any other slot is
+     * used up by the claim.
+     */
+    public Optional<Prefetched> claim(String sessionId, String topic, int questionCount, CefrLevel maxLevel) {
+        Slot slot = slots.get(sessionId);
+        if (slot == null || !slot.topicKey().equals(topicKey(topic)) || !slots.remove(sessionId, slot)) {
+            return Optional.empty();
+        }
+        if (slot.isExpired(System.nanoTime())) {
+            slot.questions().cancel(true);
+            expired.increment();
+            return Optional.empty();
+        }
+        if (maxLevel.isLowerThan(slot.level())) {
+            log.debug("Dropping prefetched exercise on '{}' at {}, above {}", topic, slot.level(), maxLevel);
+            slot.questions().cancel(true);
+            unusable.increment();
+            return Optional.empty();
+        }
+
+        Future<Optional<List<GeneratedQuestion>>> future = slot.questions();
+        Optional<List<GeneratedQuestion>> questions = switch (future.state()) {
+            case SUCCESS -> future.resultNow();
+            case FAILED -> {
+                log.warn("Prefetched exercise on '{}' failed", topic, future.exceptionNow());
+                yield Optional.empty();
+            }
+            default -> {
+                log.debug("Prefetched exercise on '{}' still generating, generating directly", topic);
+                future.cancel(true);
+                yield Optional.empty();
+            }
+        };
+        if (questions.isEmpty() || questions.get().size() < questionCount) {
+            unusable.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        log.debug("Serving prefetched exercise on '{}' at {} for session {}", topic, slot.level(), sessionId);
+        return Optional.of(new Prefetched(slot.level().name(), List.copyOf(questions.get().subList(0, questionCount))));
+    }
+
+    @Scheduled(fixedDelayString = "${lexio.prefetch.sweep-interval:1m}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        slots.forEach((sessionId, slot) -> {
+            if (slot.isExpired(now) && slots.remove(sessionId, slot)) {
+                slot.questions().cancel(true);
+                expired.increment();
+            }
+        });
+    }
+
+    public double hitRatio() {
+        double total = issued.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    public double wasteRatio() {
+        double total = issued.count();
+        return total == 0 ? 0.0 : (expired.count() + replaced.count() + unusable.count()) / total;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private CefrLevel nextLevel(CefrLevel level, int correct, int attempted) {
+        if (attempted < MIN_ATTEMPTS_FOR_LEVEL_CHANGE) return level;
+        double accuracy = (double) correct / attempted;
+        if (accuracy >= properties.raiseLevelAccuracy()) return level.shift(1);
+        if (accuracy < properties.lowerLevelAccuracy()) return level.shift(-1);
+        return level;
+    }
+
+    private static String topicKey(String topic) {
+        return topic == null ? "" : topic.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("lexio.prefetch.exercises")
+            .description("Speculatively generated exercises by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.kensai.sandbox.lexio.service;
+
+import com.kensai.sandbox.lexio.service.VocabularyGenerationService.GeneratedQuestion;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Local stock of previously generated questions, keyed by topic and level.
+ * Served when the model is unavailable so learners keep getting topical exercises.
+ */
+@Component
+public class QuestionBank {
+
+    private static final int MAX_TOPICS = 200;
+    private static final int MAX_QUESTIONS_PER_TOPIC = 50;
+
+    private final Map<String, Deque<GeneratedQuestion>> stock =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Deque<GeneratedQuestion>> eldest) {
+                return size() > MAX_TOPICS;
+            }
+        };
+
+    public synchronized void store(String topic, String level, List<GeneratedQuestion> questions) {
+        Deque<GeneratedQuestion> entries = stock.computeIfAbsent(key(topic, level), k -> new ArrayDeque<>());
+        for (GeneratedQuestion question : questions) {
+            entries.addFirst(question);
+            if (entries.size() > MAX_QUESTIONS_PER_TOPIC) {
+                entries.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code count} stored questions for the topic and level, in random order.
+     */
+    public synchronized List<GeneratedQuestion> take(String topic, String level, int count) {
+        Deque<GeneratedQuestion> entries = stock.get(key(topic, level));
+        if (entries == null || entries.isEmpty()) return List.of();
+
+        List<GeneratedQuestion> shuffled = new ArrayList<>(entries);
+        Collections.shuffle(shuffled);
+        return List.copyOf(shuffled.subList(0, Math.min(count, shuffled.size())));
+    }
+
+    private String key(String topic, String level) {
+        return topic.trim().toLowerCase() + "|" + level;
+    }
+}
@@ -27,6 +27,14 @@ public class UserProfileService {
             return this.order < other.order;
         }
 
+        /**
+         * Returns the level {@code steps} above (or below, if negative) this one, clamped to A1..C2.
+         */
+        public CefrLevel shift(int steps) {
+            CefrLevel[] levels = values();
+            return levels[Math.max(0, Math.min(levels.length - 1, ordinal() + steps))];
+        }
+
         public static CefrLevel fromString(String level) {
             if (level == null) return A1;
             try {
@@ -40,6 +48,10 @@ public class UserProfileService {
     private static final String DEFAULT_SESSION = "default";
     private final Map<String, CefrLevel> userLevels = new ConcurrentHashMap<>();
 
+    public String getSessionId() {
+        return DEFAULT_SESSION;
+    }
+
     public CefrLevel getLevel(String sessionId) {
         String id = sessionId != null ? sessionId : DEFAULT_SESSION;
         return userLevels.getOrDefault(id, CefrLevel.A1);
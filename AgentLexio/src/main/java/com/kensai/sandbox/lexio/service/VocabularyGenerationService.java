@@ -1,25 +1,62 @@
 package com.kensai.sandbox.lexio.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kensai.sandbox.lexio.ai.assistant.VocabularyGenerator;
+import com.kensai.sandbox.lexio.ai.resilience.LlmCallExecutor;
+import com.kensai.sandbox.lexio.ai.resilience.LlmUnavailableException;
+import com.kensai.sandbox.lexio.ai.tracing.TracingExecutors;
+import com.kensai.sandbox.lexio.config.LlmResilienceProperties;
+import com.kensai.sandbox.lexio.config.VocabularyGenerationProperties;
 import com.kensai.sandbox.lexio.web.dto.TopicAssessment;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class VocabularyGenerationService {
 
+    @Lazy
     private final VocabularyGenerator vocabularyGenerator;
+    private final LlmCallExecutor llmCallExecutor;
+    private final LlmResilienceProperties resilienceProperties;
+    private final QuestionBank questionBank;
+    private final VocabularyGenerationProperties generationProperties;
+    private final ObservationRegistry observationRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * Operation keys for the call executor. Chunks and top-ups ask for fewer questions than a
+     * full request, so they keep their own latency history and hedge thresholds.
+     */
+    private static final String FULL_OPERATION = "generateQuestions";
+    private static final String CHUNK_OPERATION = "generateQuestionsChunk";
+
+    /**
+     * Distinct angles on a topic handed to concurrent chunks so they don't converge on the
+     * same handful of words.
+     */
+    private static final List<String> CHUNK_FOCUSES = List.of(
+        "nouns for objects, people and places",
+        "verbs for typical actions",
+        "adjectives and descriptions",
+        "situations, events and abstract ideas",
+        "less obvious but useful everyday words"
+    );
+
     public record GeneratedQuestion(
         String sentenceWithBlank,
         String completeSentence,
@@ -31,12 +68,11 @@ public class VocabularyGenerationService {
     public TopicAssessment assessTopic(String topic) {
         log.info("Assessing topic difficulty: {}", topic);
         try {
-            String response = vocabularyGenerator.assessTopicLevel(topic);
+            String response = llmCallExecutor.call("assessTopic", resilienceProperties.assessDeadline(), true,
+                () -> vocabularyGenerator.assessTopicLevel(topic));
             log.debug("Topic assessment response: {}", response);
 
-            // Extract JSON from response (handle markdown code blocks)
-            String json = extractJson(response);
-            JsonNode node = objectMapper.readTree(json);
+            JsonNode node = parse("assessTopic", response, objectMapper::readTree);
 
             String level = node.has("level") ? node.get("level").asText() : "A1";
             String reasoning = node.has("reasoning") ? node.get("reasoning").asText() : "";
@@ -44,29 +80,151 @@ public class VocabularyGenerationService {
                 ? node.get("simplerTopic").asText() : null;
 
             return new TopicAssessment(topic, level, reasoning, simplerTopic);
-        } catch (Exception e) {
-            log.error("Error assessing topic: {}", topic, e);
-            // Default to A2 on error to be safe
-            return new TopicAssessment(topic, "A2", "Could not assess topic", null);
+        } catch (LlmUnavailableException e) {
+            log.warn("Model unavailable while assessing topic '{}': {}", topic, e.getReason());
+        } catch (JsonProcessingException e) {
+            log.error("Could not parse topic assessment for: {}", topic, e);
+        } catch (RuntimeException e) {
+            log.error("Topic assessment failed for: {}", topic, e);
         }
+        // Default to A2 on error to be safe
+        return new TopicAssessment(topic, "A2", "Could not assess topic", null);
     }
 
     public List<GeneratedQuestion> generateQuestions(String topic, String level, int count) {
+        return generateQuestions(topic, level, count, Set.of());
+    }
+
+    /**
+     * Generates {@code count} questions whose target words are not in {@code excludedWords}.
+     * Large requests are fanned out into smaller concurrent generator calls. If the model
+     * produces nothing, banked or built-in fallback questions are returned instead.
+     */
+    public List<GeneratedQuestion> generateQuestions(String topic, String level, int count, Set<String> excludedWords) {
+        return generateFreshQuestions(topic, level, count, excludedWords)
+            .orElseGet(() -> stockQuestions(topic, level, count));
+    }
+
+    /**
+     * Like {@link #generateQuestions(String, String, int, Set)}, but empty instead of falling
+     * back to stock questions, which ignore {@code excludedWords} and the requested level.
+     * For callers that can simply try again later.
+     */
+    public Optional<List<GeneratedQuestion>> generateFreshQuestions(String topic, String level, int count,
+                                                                    Set<String> excludedWords) {
         log.info("Generating {} questions for topic '{}' at level {}", count, topic, level);
+
+        List<GeneratedQuestion> questions = generationProperties.fanOutEnabled() && count > generationProperties.fanOutThreshold()
+            ? generateFannedOut(topic, level, count, excludedWords)
+            : generateChunk(FULL_OPERATION, topic, level, count, null, excludedWords);
+
+        if (questions.isEmpty()) {
+            return Optional.empty();
+        }
+        log.info("Successfully generated {} questions", questions.size());
+        questionBank.store(topic, level, questions);
+        return Optional.of(questions);
+    }
+
+    private List<GeneratedQuestion> generateFannedOut(String topic, String level, int count, Set<String> excludedWords) {
+        int chunkSize = generationProperties.fanOutChunkSize();
+        int chunks = (count + chunkSize - 1) / chunkSize;
+        log.info("Fanning out {} questions into {} concurrent chunks", count, chunks);
+
+        Map<String, GeneratedQuestion> unique = new LinkedHashMap<>();
+        try (ExecutorService executor = TracingExecutors.propagating(Executors.newVirtualThreadPerTaskExecutor())) {
+            List<Future<List<GeneratedQuestion>>> futures = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                // Spread the remainder so chunk sizes differ by at most one
+                // Ask each chunk for a few spare words, so collisions between chunks are
+                // absorbed here rather than by another round trip after they all finish
+                int chunkCount = count / chunks + (i < count % chunks ? 1 : 0) + generationProperties.fanOutSpare();
+                String focus = CHUNK_FOCUSES.get(i % CHUNK_FOCUSES.size());
+                futures.add(executor.submit(() -> generateChunk(CHUNK_OPERATION, topic, level, chunkCount, focus, excludedWords)));
+            }
+            for (Future<List<GeneratedQuestion>> future : futures) {
+                try {
+                    addUnique(unique, future.get(), excludedWords);
+                } catch (ExecutionException e) {
+                    log.error("Fan-out chunk failed for topic: {}", topic, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.copyOf(unique.values());
+        }
+
+        if (!unique.isEmpty() && unique.size() < count) {
+            log.warn("Fan-out produced only {} of {} unique questions for topic: {}", unique.size(), count, topic);
+        }
+
+        return unique.values().stream().limit(count).toList();
+    }
+
+    private void addUnique(Map<String, GeneratedQuestion> unique, List<GeneratedQuestion> questions, Set<String> excludedWords) {
+        for (GeneratedQuestion question : questions) {
+            String key = wordKey(question.targetWord());
+            if (key.isEmpty() || containsWord(excludedWords, key)) continue;
+            unique.putIfAbsent(key, question);
+        }
+    }
+
+    private List<GeneratedQuestion> generateChunk(String operation, String topic, String level, int count, String focus, Set<String> excludedWords) {
         try {
-            String response = vocabularyGenerator.generateVocabularySentences(topic, level, count);
+            String response = llmCallExecutor.call(operation, resilienceProperties.generateDeadline(), true,
+                () -> focus == null && excludedWords.isEmpty()
+                    ? vocabularyGenerator.generateVocabularySentences(topic, level, count)
+                    : vocabularyGenerator.generateFocusedVocabularySentences(topic, level, count,
+                        focus != null ? focus : "any vocabulary for the topic",
+                        excludedWords.isEmpty() ? "none" : String.join(", ", excludedWords)));
             log.debug("Generated questions response: {}", response);
 
-            // Extract JSON from response
-            String json = extractJson(response);
-            List<GeneratedQuestion> questions = objectMapper.readValue(json, new TypeReference<>() {});
+            return parse(operation, response,
+                json -> objectMapper.readValue(json, new TypeReference<List<GeneratedQuestion>>() {}));
+        } catch (LlmUnavailableException e) {
+            log.warn("Model unavailable while generating questions for '{}': {}", topic, e.getReason());
+        } catch (JsonProcessingException e) {
+            log.error("Could not parse generated questions for topic: {}", topic, e);
+        } catch (RuntimeException e) {
+            log.error("Question generation failed for topic: {}", topic, e);
+        }
+        return List.of();
+    }
+
+    private static boolean containsWord(Set<String> words, String key) {
+        for (String word : words) {
+            if (wordKey(word).equals(key)) return true;
+        }
+        return false;
+    }
+
+    private static String wordKey(String word) {
+        return word == null ? "" : word.trim().toLowerCase(Locale.GERMAN);
+    }
 
-            log.info("Successfully generated {} questions", questions.size());
-            return questions;
-        } catch (Exception e) {
-            log.error("Error generating questions for topic: {}", topic, e);
-            return generateFallbackQuestions(count);
+    private List<GeneratedQuestion> stockQuestions(String topic, String level, int count) {
+        List<GeneratedQuestion> banked = questionBank.take(topic, level, count);
+        if (!banked.isEmpty()) {
+            log.info("Serving {} banked questions for topic '{}'", banked.size(), topic);
+            return banked;
         }
+        return generateFallbackQuestions(count);
+    }
+
+    /**
+     * Strips markdown fences from a model response and parses it inside a
+     * {@code lexio.llm.parse} span.
+     */
+    private <T> T parse(String operation, String response, JsonReader<T> reader) throws JsonProcessingException {
+        return Observation.createNotStarted("lexio.llm.parse", observationRegistry)
+            .lowCardinalityKeyValue("operation", operation)
+            .highCardinalityKeyValue("response.length", String.valueOf(response.length()))
+            .observeChecked(() -> reader.read(extractJson(response)));
+    }
+
+    @FunctionalInterface
+    private interface JsonReader<T> {
+        T read(String json) throws JsonProcessingException;
     }
 
     private String extractJson(String response) {
@@ -0,0 +1,17 @@
+package com.kensai.sandbox.lexio.stats;
+
+/**
+ * A single learner action emitted from the exercise tools.
+ *
+ * @param elapsedMillis time spent on the question, for ANSWER and SKIP events; otherwise 0
+ */
+public record LearningEvent(
+    Type type,
+    String userId,
+    String topic,
+    String level,
+    boolean correct,
+    long elapsedMillis
+) {
+    public enum Type { ANSWER, SKIP, HINT, EXERCISE_COMPLETE }
+}
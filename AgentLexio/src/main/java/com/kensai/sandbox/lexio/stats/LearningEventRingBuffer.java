@@ -0,0 +1,71 @@
+package com.kensai.sandbox.lexio.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer queue.
+ *
+ * <p>Each slot carries a sequence number: a producer claims a position by CAS on the
+ * tail and publishes the event by advancing the slot's sequence; the consumer only
+ * reads slots whose sequence shows them as published. {@link #offer} never blocks and
+ * returns false when the buffer is full.
+ */
+class LearningEventRingBuffer {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    LearningEventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(LearningEvent event) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) break;
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        slots[index] = event;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Returns the next event or null if none is published yet. Single consumer only.
+     */
+    LearningEvent poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) return null;
+
+        LearningEvent event = (LearningEvent) slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,56 @@
+package com.kensai.sandbox.lexio.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+class LearningStatsRepository {
+
+    private static final String MERGE_SQL = """
+        MERGE INTO learning_stats
+            (scope, scope_key, answered, correct, skipped, hints_used, exercises_completed, time_histogram, updated_at)
+        KEY (scope, scope_key)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the current totals of the given rollups in one JDBC batch.
+     */
+    void saveAll(List<LearningStatsRollup> rollups) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(MERGE_SQL, rollups.stream()
+            .map(r -> new Object[] {
+                r.getScope().name(), r.getKey(), r.getAnswered(), r.getCorrect(), r.getSkipped(),
+                r.getHintsUsed(), r.getExercisesCompleted(), encode(r.getTimeBuckets()), now
+            })
+            .toList());
+    }
+
+    List<LearningStatsRollup> findAll() {
+        return jdbcTemplate.query("SELECT * FROM learning_stats", (rs, rowNum) -> {
+            LearningStatsRollup rollup = new LearningStatsRollup(
+                LearningStatsRollup.Scope.valueOf(rs.getString("scope")), rs.getString("scope_key"));
+            rollup.restore(rs.getLong("answered"), rs.getLong("correct"), rs.getLong("skipped"),
+                rs.getLong("hints_used"), rs.getLong("exercises_completed"), decode(rs.getString("time_histogram")));
+            return rollup;
+        });
+    }
+
+    private static String encode(long[] buckets) {
+        return Arrays.stream(buckets).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    private static long[] decode(String buckets) {
+        return buckets.isEmpty() ? new long[0] : Arrays.stream(buckets.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+}
@@ -0,0 +1,126 @@
+package com.kensai.sandbox.lexio.stats;
+
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one user, topic or level. Written by the pipeline consumer and
+ * read concurrently by the stats endpoint and the flusher.
+ */
+class LearningStatsRollup {
+
+    enum Scope { USER, TOPIC, LEVEL }
+
+    /** Upper bounds in seconds of the time-per-question buckets; the last bucket is open. */
+    static final int[] TIME_BUCKET_BOUNDS_SECONDS = {5, 10, 20, 30, 60, 120, 300};
+
+    private final Scope scope;
+    private final String key;
+    private final LongAdder answered = new LongAdder();
+    private final LongAdder correct = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder hintsUsed = new LongAdder();
+    private final LongAdder exercisesCompleted = new LongAdder();
+    private final LongAdder[] timeBuckets = new LongAdder[TIME_BUCKET_BOUNDS_SECONDS.length + 1];
+    private volatile boolean dirty;
+
+    LearningStatsRollup(Scope scope, String key) {
+        this.scope = scope;
+        this.key = key;
+        for (int i = 0; i < timeBuckets.length; i++) {
+            timeBuckets[i] = new LongAdder();
+        }
+    }
+
+    void apply(LearningEvent event) {
+        switch (event.type()) {
+            case ANSWER -> {
+                answered.increment();
+                if (event.correct()) correct.increment();
+                timeBuckets[bucketOf(event.elapsedMillis())].increment();
+            }
+            case SKIP -> {
+                skipped.increment();
+                timeBuckets[bucketOf(event.elapsedMillis())].increment();
+            }
+            case HINT -> hintsUsed.increment();
+            case EXERCISE_COMPLETE -> exercisesCompleted.increment();
+        }
+        dirty = true;
+    }
+
+    /**
+     * Restores totals previously flushed to the datasource.
+     */
+    void restore(long answered, long correct, long skipped, long hintsUsed, long exercisesCompleted, long[] buckets) {
+        this.answered.add(answered);
+        this.correct.add(correct);
+        this.skipped.add(skipped);
+        this.hintsUsed.add(hintsUsed);
+        this.exercisesCompleted.add(exercisesCompleted);
+        for (int i = 0; i < Math.min(buckets.length, timeBuckets.length); i++) {
+            timeBuckets[i].add(buckets[i]);
+        }
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    boolean clearDirty() {
+        boolean wasDirty = dirty;
+        dirty = false;
+        return wasDirty;
+    }
+
+    Scope getScope() { return scope; }
+    String getKey() { return key; }
+    long getAnswered() { return answered.sum(); }
+    long getCorrect() { return correct.sum(); }
+    long getSkipped() { return skipped.sum(); }
+    long getHintsUsed() { return hintsUsed.sum(); }
+    long getExercisesCompleted() { return exercisesCompleted.sum(); }
+
+    long[] getTimeBuckets() {
+        long[] counts = new long[timeBuckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = timeBuckets[i].sum();
+        }
+        return counts;
+    }
+
+    LearningStatsResponse toResponse() {
+        long answeredCount = getAnswered();
+        long skippedCount = getSkipped();
+        long attempted = answeredCount + skippedCount;
+        double accuracy = attempted == 0 ? 0.0 : getCorrect() * 100.0 / attempted;
+        double hintRate = attempted == 0 ? 0.0 : getHintsUsed() * 100.0 / attempted;
+
+        long[] counts = getTimeBuckets();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            histogram.put(bucketLabel(i), counts[i]);
+        }
+
+        return new LearningStatsResponse(scope.name(), key, answeredCount, getCorrect(), skippedCount,
+            getHintsUsed(), getExercisesCompleted(),
+            Math.round(accuracy * 10.0) / 10.0, Math.round(hintRate * 10.0) / 10.0, histogram);
+    }
+
+    private static int bucketOf(long elapsedMillis) {
+        for (int i = 0; i < TIME_BUCKET_BOUNDS_SECONDS.length; i++) {
+            if (elapsedMillis < TIME_BUCKET_BOUNDS_SECONDS[i] * 1000L) return i;
+        }
+        return TIME_BUCKET_BOUNDS_SECONDS.length;
+    }
+
+    private static String bucketLabel(int bucket) {
+        if (bucket == TIME_BUCKET_BOUNDS_SECONDS.length) {
+            return ">=" + TIME_BUCKET_BOUNDS_SECONDS[bucket - 1] + "s";
+        }
+        return "<" + TIME_BUCKET_BOUNDS_SECONDS[bucket] + "s";
+    }
+}
@@ -0,0 +1,201 @@
+package com.kensai.sandbox.lexio.stats;
+
+import com.kensai.sandbox.lexio.config.LearningStatsProperties;
+import com.kensai.sandbox.lexio.stats.LearningStatsRollup.Scope;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsOverview;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Off-path aggregation of learning events.
+ *
+ * <p>The exercise tools only {@link #publish} events into a bounded ring buffer. A single
+ * background consumer drains the buffer into per-user, per-topic and per-level rollups and
+ * periodically flushes the rollups that changed to the datasource in one batch. When the
+ * buffer is empty the consumer sleeps until the next flush is due and the next
+ * {@link #publish} wakes it up.
+ */
+@Slf4j
+@Service
+public class LearningStatsService implements SmartLifecycle {
+
+    private final LearningStatsProperties properties;
+    private final LearningStatsRepository repository;
+    private final LearningEventRingBuffer buffer;
+    private final Counter droppedEvents;
+    private final Map<Scope, Map<String, LearningStatsRollup>> rollups = new EnumMap<>(Scope.class);
+
+    private volatile boolean running;
+    private volatile boolean idle;
+    private volatile Thread consumer;
+
+    public LearningStatsService(LearningStatsProperties properties,
+                                LearningStatsRepository repository,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.repository = repository;
+        this.buffer = new LearningEventRingBuffer(properties.bufferCapacity());
+        this.droppedEvents = Counter.builder("lexio.stats.events.dropped")
+            .description("Learning events dropped because the ring buffer was full")
+            .register(meterRegistry);
+        for (Scope scope : Scope.values()) {
+            rollups.put(scope, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Enqueues an event without blocking. Events are dropped and counted if the buffer is full.
+     */
+    public void publish(LearningEvent event) {
+        if (!buffer.offer(event)) {
+            droppedEvents.increment();
+            return;
+        }
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public LearningStatsOverview getOverview() {
+        return new LearningStatsOverview(responses(Scope.USER), responses(Scope.TOPIC), responses(Scope.LEVEL));
+    }
+
+    public Optional<LearningStatsResponse> getStats(String scope, String key) {
+        Scope parsed;
+        try {
+            parsed = Scope.valueOf(scope.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(rollups.get(parsed).get(normalizeKey(parsed, key)))
+            .map(LearningStatsRollup::toResponse);
+    }
+
+    @Override
+    public void start() {
+        try {
+            for (LearningStatsRollup rollup : repository.findAll()) {
+                rollups.get(rollup.getScope()).put(rollup.getKey(), rollup);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not restore learning stats, starting empty", e);
+        }
+
+        running = true;
+        consumer = Thread.ofPlatform()
+            .name("learning-stats-consumer")
+            .daemon(true)
+            .start(this::consume);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        long flushIntervalNanos = properties.flushInterval().toNanos();
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+
+        while (running) {
+            if (drain() == 0) {
+                idle = true;
+                // Re-check after announcing idleness so a concurrent publish is not missed;
+                // if a wake-up still slips through, the event waits at most until the next flush
+                if (drain() == 0) {
+                    LockSupport.parkNanos(nextFlush - System.nanoTime());
+                }
+                idle = false;
+            }
+            if (System.nanoTime() - nextFlush >= 0) {
+                flush();
+                nextFlush = System.nanoTime() + flushIntervalNanos;
+            }
+        }
+
+        // Final drain and flush on shutdown
+        while (drain() > 0) {
+            // keep draining
+        }
+        flush();
+    }
+
+    private int drain() {
+        int drained = 0;
+        LearningEvent event;
+        while (drained < properties.drainBatchSize() && (event = buffer.poll()) != null) {
+            apply(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void apply(LearningEvent event) {
+        rollup(Scope.USER, event.userId()).apply(event);
+        rollup(Scope.TOPIC, event.topic()).apply(event);
+        rollup(Scope.LEVEL, event.level()).apply(event);
+    }
+
+    private LearningStatsRollup rollup(Scope scope, String key) {
+        String normalized = normalizeKey(scope, key);
+        return rollups.get(scope).computeIfAbsent(normalized, k -> new LearningStatsRollup(scope, k));
+    }
+
+    private void flush() {
+        List<LearningStatsRollup> dirty = new ArrayList<>();
+        for (Map<String, LearningStatsRollup> byKey : rollups.values()) {
+            for (LearningStatsRollup rollup : byKey.values()) {
+                if (rollup.clearDirty()) dirty.add(rollup);
+            }
+        }
+        if (dirty.isEmpty()) return;
+
+        try {
+            repository.saveAll(dirty);
+            log.debug("Flushed {} learning stats rollups", dirty.size());
+        } catch (DataAccessException e) {
+            log.warn("Could not flush {} learning stats rollups, will retry", dirty.size(), e);
+            dirty.forEach(LearningStatsRollup::markDirty);
+        }
+    }
+
+    private List<LearningStatsResponse> responses(Scope scope) {
+        return rollups.get(scope).values().stream()
+            .map(LearningStatsRollup::toResponse)
+            .sorted(Comparator.comparing(LearningStatsResponse::key))
+            .toList();
+    }
+
+    private static String normalizeKey(Scope scope, String key) {
+        if (key == null || key.isBlank()) return "unknown";
+        String trimmed = key.trim();
+        return switch (scope) {
+            case TOPIC -> trimmed.toLowerCase();
+            case LEVEL -> trimmed.toUpperCase();
+            case USER -> trimmed;
+        };
+    }
+}
@@ -1,13 +1,27 @@
 package com.kensai.sandbox.lexio.web.controller;
 
 import com.kensai.sandbox.lexio.ai.assistant.LexioAssistant;
+import com.kensai.sandbox.lexio.ai.resilience.LlmUnavailableException;
+import com.kensai.sandbox.lexio.ai.tracing.TracingChatModelListener;
+import com.kensai.sandbox.lexio.ai.tracing.TracingExecutors;
+import com.kensai.sandbox.lexio.config.LlmResilienceProperties;
 import com.kensai.sandbox.lexio.web.dto.ChatRequest;
 import com.kensai.sandbox.lexio.web.dto.ChatResponse;
+import dev.langchain4j.service.Result;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/chat")
@@ -15,18 +29,48 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class ChatController {
 
+    @Lazy
     private final LexioAssistant lexioAssistant;
+    private final LlmResilienceProperties resilienceProperties;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService turnExecutor = TracingExecutors.propagating(Executors.newVirtualThreadPerTaskExecutor());
 
     @PostMapping
     public ResponseEntity<ChatResponse> chat(@RequestBody ChatRequest request) {
-        log.info("Received chat message: {}", request.message());
+        Observation observation = Observation.createNotStarted("lexio.chat", observationRegistry)
+            .contextualName("chat turn")
+            .highCardinalityKeyValue("message.length", String.valueOf(request.message() == null ? 0 : request.message().length()));
+        AtomicInteger modelRequests = TracingChatModelListener.countModelRequests(observation);
+        return observation.observe(() -> respond(request, observation, modelRequests));
+    }
+
+    private ResponseEntity<ChatResponse> respond(ChatRequest request, Observation observation, AtomicInteger modelRequests) {
+        log.debug("Received chat message: {}", request.message());
 
         try {
-            String response = lexioAssistant.chat(request.message());
-            log.info("Assistant response: {}", response.length() > 200 ? response.substring(0, 200) + "..." : response);
+            Result<String> result = runTurn(request.message());
+            recordRoundTrips(result, observation, modelRequests.get());
+            String response = result.content();
+            log.debug("Assistant response: {}", response.length() > 200 ? response.substring(0, 200) + "..." : response);
+            observation.highCardinalityKeyValue("response.length", String.valueOf(response.length()));
             return ResponseEntity.ok(new ChatResponse(response, true, null));
+        } catch (LlmUnavailableException e) {
+            log.warn("Assistant unavailable: {}", e.getReason());
+            observation.error(e);
+            String message = e.getReason() == LlmUnavailableException.Reason.CIRCUIT_OPEN
+                ? "Lexio is taking a short break because the language model is not responding. Please try again in a moment."
+                : "I'm sorry, that took too long or failed on the model side. Please try again.";
+            return ResponseEntity.ok(new ChatResponse(message, false, e.getMessage()));
+        } catch (TimeoutException e) {
+            log.warn("Chat turn still running after {}", resilienceProperties.chatDeadline());
+            observation.error(e);
+            return ResponseEntity.ok(new ChatResponse(
+                "I'm sorry, that took too long. Please try again.", false,
+                "Chat turn exceeded " + resilienceProperties.chatDeadline()));
         } catch (Exception e) {
             log.error("Error processing chat message", e);
+            observation.error(e);
             return ResponseEntity.ok(new ChatResponse(
                 "I'm sorry, I encountered an error processing your message. Please try again.",
                 false, e.getMessage()
@@ -34,6 +78,52 @@ public class ChatController {
         }
     }
 
+    /**
+     * Runs the turn on its own thread and waits up to the chat deadline. A turn that runs
+     * longer is left to finish rather than interrupted: its tools may be halfway through
+     * changing exercise state or the profile. The breaker and hedging apply to the
+     * assistant's individual model requests instead.
+     */
+    private Result<String> runTurn(String message) throws Exception {
+        Future<Result<String>> turn = turnExecutor.submit(() -> lexioAssistant.chat(message));
+        try {
+            return turn.get(resilienceProperties.chatDeadline().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        turnExecutor.shutdown();
+    }
+
+    /**
+     * Records every model request the turn caused: the assistant's own round-trips plus the
+     * requests made inside tools (topic assessment, generation chunks and top-ups, hedges),
+     * as counted by the {@link TracingChatModelListener}. The assistant alone needs
+     * {@code intermediateResponses + 1} requests, which is the floor when no observation
+     * handler is registered and nothing is counted.
+     */
+    private void recordRoundTrips(Result<String> result, Observation observation, int countedRequests) {
+        int assistantRoundTrips = (result.intermediateResponses() == null ? 0 : result.intermediateResponses().size()) + 1;
+        int roundTrips = Math.max(countedRequests, assistantRoundTrips);
+        int toolCalls = result.toolExecutions() == null ? 0 : result.toolExecutions().size();
+
+        DistributionSummary.builder("lexio.chat.llm.round.trips")
+            .description("Model requests made to answer one chat turn, including those made by tools")
+            .register(meterRegistry)
+            .record(roundTrips);
+        observation.highCardinalityKeyValue("llm.round_trips", String.valueOf(roundTrips));
+        observation.highCardinalityKeyValue("llm.assistant_round_trips", String.valueOf(assistantRoundTrips));
+        observation.highCardinalityKeyValue("tool.calls", String.valueOf(toolCalls));
+        log.debug("Chat turn took {} model requests ({} by the assistant) and {} tool calls",
+            roundTrips, assistantRoundTrips, toolCalls);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Agent Lexio is running!");
@@ -0,0 +1,60 @@
+package com.kensai.sandbox.lexio.web.controller;
+
+import com.kensai.sandbox.lexio.ai.tools.VocabularyExerciseTools;
+import com.kensai.sandbox.lexio.web.dto.exercise.*;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Exercise endpoints that bypass the chat assistant. Starting an exercise costs one
+ * generation call (plus a topic assessment unless {@code proceedDespiteWarning} is set);
+ * scoring is deterministic and never calls the model.
+ */
+@RestController
+@RequestMapping("/api/exercises")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ExerciseController {
+
+    private static final int DEFAULT_QUESTIONS = 5;
+
+    private final VocabularyExerciseTools vocabularyExerciseTools;
+
+    /**
+     * Starts an exercise, unless the topic is above the user's level and the warning has not
+     * been accepted, in which case only the warning is returned.
+     */
+    @PostMapping
+    public ResponseEntity<StartExerciseResponse> start(@Valid @RequestBody StartExerciseRequest request) {
+        int questions = request.numberOfQuestions() > 0 ? request.numberOfQuestions() : DEFAULT_QUESTIONS;
+        Object result = vocabularyExerciseTools.generateVocabularyExercise(
+            request.topic(), questions, request.proceedDespiteWarning());
+        return ResponseEntity.ok(result instanceof TopicWarningResponse warning
+            ? new StartExerciseResponse(null, warning)
+            : new StartExerciseResponse((ExerciseStartedResponse) result, null));
+    }
+
+    @GetMapping("/{exerciseId}/questions")
+    public ResponseEntity<ExerciseQuestionsResponse> questions(@PathVariable String exerciseId) {
+        return vocabularyExerciseTools.getQuestions(exerciseId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{exerciseId}/answers")
+    public ResponseEntity<QuizResultResponse> submitAnswers(@PathVariable String exerciseId,
+                                                            @Valid @RequestBody QuizSubmissionRequest request) {
+        return vocabularyExerciseTools.submitAllAnswers(exerciseId, request.answers())
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{exerciseId}/summary")
+    public ResponseEntity<ExerciseSummaryResponse> summary(@PathVariable String exerciseId) {
+        return vocabularyExerciseTools.findExerciseSummary(exerciseId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
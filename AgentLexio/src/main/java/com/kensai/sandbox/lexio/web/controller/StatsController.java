@@ -0,0 +1,50 @@
+package com.kensai.sandbox.lexio.web.controller;
+
+import com.kensai.sandbox.lexio.service.UserProfileService;
+import com.kensai.sandbox.lexio.stats.LearningStatsService;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsOverview;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Read-only view of the learning stats rollups. There is no per-learner identity yet, so
+ * the {@code users} scope has a single rollup keyed by the default session id
+ * ({@code "default"}, see {@link UserProfileService#getSessionId()}).
+ */
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private static final Map<String, String> SCOPES = Map.of(
+        "users", "user",
+        "topics", "topic",
+        "levels", "level"
+    );
+
+    private final LearningStatsService learningStatsService;
+
+    @GetMapping
+    public ResponseEntity<LearningStatsOverview> overview() {
+        return ResponseEntity.ok(learningStatsService.getOverview());
+    }
+
+    /**
+     * @param scope one of {@code users}, {@code topics} or {@code levels}
+     */
+    @GetMapping("/{scope}/{key}")
+    public ResponseEntity<LearningStatsResponse> stats(@PathVariable String scope, @PathVariable String key) {
+        String singular = SCOPES.get(scope);
+        if (singular == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return learningStatsService.getStats(singular, key)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -2,10 +2,12 @@ package com.kensai.sandbox.lexio.web.dto.exercise;
 
 public record AnswerResponse(
     boolean correct,
+    String matchType,
     String userAnswer,
     String correctWord,
     String explanation,
     boolean exerciseComplete,
     Integer nextQuestionNumber,
-    String nextSentence
+    String nextSentence,
+    ExerciseSummaryResponse summary
 ) {}
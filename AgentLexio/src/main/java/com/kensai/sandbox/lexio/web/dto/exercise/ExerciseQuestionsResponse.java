@@ -0,0 +1,10 @@
+package com.kensai.sandbox.lexio.web.dto.exercise;
+
+import java.util.List;
+
+public record ExerciseQuestionsResponse(
+    String exerciseId,
+    Integer currentQuestionNumber,
+    int totalQuestions,
+    List<QuizQuestion> questions
+) {}
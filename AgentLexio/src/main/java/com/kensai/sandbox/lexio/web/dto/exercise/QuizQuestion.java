@@ -0,0 +1,6 @@
+package com.kensai.sandbox.lexio.web.dto.exercise;
+
+public record QuizQuestion(
+    int questionNumber,
+    String sentenceWithBlank
+) {}
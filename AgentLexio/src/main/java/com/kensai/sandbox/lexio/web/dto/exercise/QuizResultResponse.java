@@ -0,0 +1,9 @@
+package com.kensai.sandbox.lexio.web.dto.exercise;
+
+import java.util.List;
+
+public record QuizResultResponse(
+    String exerciseId,
+    List<AnswerResponse> results,
+    ExerciseSummaryResponse summary
+) {}
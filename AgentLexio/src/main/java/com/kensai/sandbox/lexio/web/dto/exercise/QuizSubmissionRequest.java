@@ -0,0 +1,13 @@
+package com.kensai.sandbox.lexio.web.dto.exercise;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Answers for the remaining questions in order; a blank answer skips its question.
+ */
+public record QuizSubmissionRequest(
+    @NotNull(message = "Answers cannot be missing")
+    List<String> answers
+) {}
@@ -5,5 +5,6 @@ public record SkipResponse(
     String skippedSentenceComplete,
     boolean exerciseComplete,
     Integer nextQuestionNumber,
-    String nextSentence
+    String nextSentence,
+    ExerciseSummaryResponse summary
 ) {}
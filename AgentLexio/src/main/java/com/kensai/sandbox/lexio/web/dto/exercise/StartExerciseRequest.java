@@ -0,0 +1,10 @@
+package com.kensai.sandbox.lexio.web.dto.exercise;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record StartExerciseRequest(
+    @NotBlank(message = "Topic cannot be empty")
+    String topic,
+    int numberOfQuestions,
+    boolean proceedDespiteWarning
+) {}
@@ -0,0 +1,10 @@
+package com.kensai.sandbox.lexio.web.dto.exercise;
+
+/**
+ * Either the started exercise or, if the topic is above the user's level, the warning to
+ * confirm first. Exactly one of the two is set.
+ */
+public record StartExerciseResponse(
+    ExerciseStartedResponse exercise,
+    TopicWarningResponse warning
+) {}
@@ -0,0 +1,9 @@
+package com.kensai.sandbox.lexio.web.dto.stats;
+
+import java.util.List;
+
+public record LearningStatsOverview(
+    List<LearningStatsResponse> users,
+    List<LearningStatsResponse> topics,
+    List<LearningStatsResponse> levels
+) {}
@@ -0,0 +1,16 @@
+package com.kensai.sandbox.lexio.web.dto.stats;
+
+import java.util.Map;
+
+public record LearningStatsResponse(
+    String scope,
+    String key,
+    long questionsAnswered,
+    long correctAnswers,
+    long skipped,
+    long hintsUsed,
+    long exercisesCompleted,
+    double accuracyPercentage,
+    double hintRatePercentage,
+    Map<String, Long> timePerQuestionHistogram
+) {}
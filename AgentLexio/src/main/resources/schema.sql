@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS learning_stats (
+    scope               VARCHAR(16)  NOT NULL,
+    scope_key           VARCHAR(255) NOT NULL,
+    answered            BIGINT       NOT NULL,
+    correct             BIGINT       NOT NULL,
+    skipped             BIGINT       NOT NULL,
+    hints_used          BIGINT       NOT NULL,
+    exercises_completed BIGINT       NOT NULL,
+    time_histogram      VARCHAR(255) NOT NULL,
+    updated_at          TIMESTAMP    NOT NULL,
+    PRIMARY KEY (scope, scope_key)
+);
@@ -0,0 +1,37 @@
+package com.kensai.sandbox.lexio.ai.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionWarmerTest {
+
+    @Test
+    void rewarmsBeforeTheKeepAliveTimeoutDropsTheConnection() {
+        Duration threshold = Duration.ofMinutes(4);
+        Duration checkInterval = Duration.ofSeconds(10);
+
+        // JDK default keep-alive of 30s
+        assertEquals(Duration.ofSeconds(10), ConnectionWarmer.rewarmAfter(threshold, checkInterval, Duration.ofSeconds(30)));
+        // -Djdk.httpclient.keepalive.timeout=300 leaves the configured threshold in charge
+        assertEquals(threshold, ConnectionWarmer.rewarmAfter(threshold, checkInterval, Duration.ofSeconds(300)));
+        assertEquals(Duration.ZERO, ConnectionWarmer.rewarmAfter(threshold, checkInterval, Duration.ofSeconds(15)));
+    }
+
+    @Test
+    void readsTheShorterOfTheKeepAliveTimeouts() {
+        String h2Property = ConnectionWarmer.KEEP_ALIVE_PROPERTY + ".h2";
+        try {
+            assertEquals(Duration.ofSeconds(30), ConnectionWarmer.pooledIdleTimeout());
+            System.setProperty(ConnectionWarmer.KEEP_ALIVE_PROPERTY, "300");
+            assertEquals(Duration.ofSeconds(300), ConnectionWarmer.pooledIdleTimeout());
+            System.setProperty(h2Property, "120");
+            assertEquals(Duration.ofSeconds(120), ConnectionWarmer.pooledIdleTimeout());
+        } finally {
+            System.clearProperty(ConnectionWarmer.KEEP_ALIVE_PROPERTY);
+            System.clearProperty(h2Property);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.kensai.sandbox.lexio.ai.http;
+
+import com.kensai.sandbox.lexio.config.AnthropicHttpProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import dev.langchain4j.model.chat.ChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the pooled transport against a local mock of the Anthropic API.
+ */
+class PooledHttpClientTest {
+
+    private static final String MESSAGE_RESPONSE = """
+        {"id": "msg_1", "type": "message", "role": "assistant", "model": "claude-test",
+         "content": [{"type": "text", "text": "Hallo!"}],
+         "stop_reason": "end_turn", "usage": {"input_tokens": 3, "output_tokens": 2}}
+        """;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> requestLines = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private HttpClient sharedClient;
+    private AnthropicHttpProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/models", exchange -> respond(exchange, "{\"data\": []}", false));
+        server.createContext("/v1/messages", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            boolean gzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            respond(exchange, MESSAGE_RESPONSE, gzip);
+        });
+        server.createContext("/v1/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "{}", false);
+        });
+        server.start();
+
+        properties = new AnthropicHttpProperties(
+            "http://localhost:" + server.getAddress().getPort() + "/v1/",
+            Duration.ofSeconds(2), Duration.ofSeconds(5),
+            true, true, Duration.ofSeconds(4), Duration.ofMinutes(4), Duration.ofSeconds(10));
+        sharedClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.connectTimeout())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sharedClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void warmedConnectionIsReusedByModelCallsAndGzipIsDecoded() {
+        ConnectionReuseTracker tracker = new ConnectionReuseTracker(meterRegistry);
+        new ConnectionWarmer(sharedClient, properties, tracker, meterRegistry, "test-key").warm();
+
+        ChatModel model = AnthropicChatModel.builder()
+            .httpClientBuilder(new PooledHttpClientBuilder(sharedClient, properties.readTimeout(), true, tracker))
+            .baseUrl(properties.baseUrl())
+            .apiKey("test-key")
+            .modelName("claude-test")
+            .maxRetries(0)
+            .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Hallo!", model.chat("Hallo"));
+        }
+
+        assertEquals(List.of("GET /v1/models", "POST /v1/messages", "POST /v1/messages", "POST /v1/messages"), requestLines);
+        assertEquals(1, clientPorts.size(), "all requests should share one connection");
+        assertEquals(1.0, meterRegistry.get("lexio.http.client.warmups").counter().count());
+        // Plain HTTP has no TLS session to tell connections apart
+        assertEquals(4.0, meterRegistry.get("lexio.http.client.requests").tag("connection", "unknown").counter().count());
+    }
+
+    @Test
+    void readTimeoutAppliesPerRequest() {
+        ConnectionReuseTracker tracker = new ConnectionReuseTracker(meterRegistry);
+        PooledHttpClient client = new PooledHttpClientBuilder(sharedClient, Duration.ofMillis(200), true, tracker).build();
+
+        dev.langchain4j.http.client.HttpRequest request = dev.langchain4j.http.client.HttpRequest.builder()
+            .method(dev.langchain4j.http.client.HttpMethod.GET)
+            .url(properties.baseUrl() + "slow")
+            .build();
+
+        assertThrows(UncheckedIOException.class, () -> client.execute(request));
+    }
+
+    private void respond(HttpExchange exchange, String body, boolean gzip) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        requestLines.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.kensai.sandbox.lexio.ai.resilience;
+
+import com.kensai.sandbox.lexio.config.LlmResilienceProperties;
+import dev.langchain4j.exception.InternalServerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmCallExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmCallExecutor executor = new LlmCallExecutor(new LlmResilienceProperties(
+        Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1),
+        true, 0.95, Duration.ofMillis(50), 5,
+        10, 4, 0.5, Duration.ofMinutes(1)), meterRegistry, ObservationRegistry.NOOP);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void hedgedRequestWinsWhenFirstAttemptStalls() {
+        for (int i = 0; i < 5; i++) {
+            executor.call("op", Duration.ofSeconds(1), true, () -> "warm");
+        }
+
+        AtomicInteger attempts = new AtomicInteger();
+        String result = executor.call("op", Duration.ofSeconds(2), true, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(1_500);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertEquals(1.0, meterRegistry.get("lexio.llm.hedges").tag("result", "won").counter().count());
+    }
+
+    @Test
+    void deadlineExceededThrows() {
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+            () -> executor.call("op", Duration.ofMillis(50), false, () -> {
+                sleep(500);
+                return "late";
+            }));
+
+        assertEquals(LlmUnavailableException.Reason.DEADLINE_EXCEEDED, e.getReason());
+    }
+
+    @Test
+    void breakerOpensOnErrorBurstAndRejectsCalls() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(LlmUnavailableException.class, () -> executor.call("op", Duration.ofSeconds(1), false, () -> {
+                throw new InternalServerException("overloaded");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, executor.getBreakerState());
+        LlmUnavailableException e = assertThrows(LlmUnavailableException.class,
+            () -> executor.call("op", Duration.ofSeconds(1), false, () -> "ok"));
+        assertEquals(LlmUnavailableException.Reason.CIRCUIT_OPEN, e.getReason());
+    }
+
+    @Test
+    void applicationErrorsAreRethrownWithoutCountingAgainstTheBreaker() {
+        for (int i = 0; i < 4; i++) {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> executor.call("op", Duration.ofSeconds(1), false, () -> {
+                    throw new IllegalStateException("unparseable");
+                }));
+            assertEquals("unparseable", e.getMessage());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getBreakerState());
+        assertEquals("ok", executor.call("op", Duration.ofSeconds(1), false, () -> "ok"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.kensai.sandbox.lexio.ai.tools;
+
+import com.kensai.sandbox.lexio.ai.tracing.TracingToolExecutor;
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolCallSequencerTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    interface Assistant {
+        String chat(String message);
+    }
+
+    @Test
+    void dependentCallsInOneResponseRunInRequestOrderWhileReadOnlyCallsRunAlongside() {
+        ProfileTools tools = new ProfileTools();
+        ToolCallSequencer sequencer = new ToolCallSequencer();
+        Assistant assistant = AiServices.builder(Assistant.class)
+            .chatModel(new ScriptedModel())
+            .tools(sequencer.sequenced(TracingToolExecutor.tracedTools(tools, ObservationRegistry.NOOP), tools))
+            .executeToolsConcurrently(sequencer.executor(executor))
+            .build();
+
+        assertEquals("done", assistant.chat("Set me to B2 and start an exercise"));
+
+        // setUserLevel only returned after the later, read-only getUserLevel had run, and
+        // generateVocabularyExercise still saw the level it set
+        assertEquals("B2", tools.exerciseLevel);
+        assertEquals(1, tools.readOnlyCalls.get());
+    }
+
+    @Test
+    void stateChangingCallsOfConcurrentTurnsDoNotWaitForEachOther() throws Exception {
+        TurnTools tools = new TurnTools();
+        ToolCallSequencer sequencer = new ToolCallSequencer();
+        Map<String, ToolExecutor> executors = new HashMap<>();
+        sequencer.sequenced(TracingToolExecutor.tracedTools(tools, ObservationRegistry.NOOP), tools)
+            .forEach((specification, toolExecutor) -> executors.put(specification.name(), toolExecutor));
+        Executor toolThreads = sequencer.executor(executor);
+
+        // Each turn submits its tool call from its own thread, as the assistant does
+        CompletableFuture<String> first = submitFromNewTurn(toolThreads, executors, "awaitOtherTurn");
+        CompletableFuture<String> second = submitFromNewTurn(toolThreads, executors, "startExercise");
+
+        assertEquals("started", second.get(2, TimeUnit.SECONDS));
+        assertEquals("ok", first.get(2, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<String> submitFromNewTurn(Executor toolThreads, Map<String, ToolExecutor> executors, String tool) {
+        ToolExecutionRequest request = ToolExecutionRequest.builder().id(tool).name(tool).arguments("{}").build();
+        return CompletableFuture.supplyAsync(
+            () -> CompletableFuture.supplyAsync(() -> executors.get(tool).execute(request, tool), toolThreads),
+            executor).join();
+    }
+
+    static class TurnTools {
+
+        private final CountDownLatch otherTurnStarted = new CountDownLatch(1);
+
+        @Tool("Changes state once the other turn has started an exercise")
+        public String awaitOtherTurn() throws InterruptedException {
+            if (!otherTurnStarted.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("held back by another turn");
+            }
+            return "ok";
+        }
+
+        @Tool("Starts an exercise")
+        public String startExercise() {
+            otherTurnStarted.countDown();
+            return "started";
+        }
+    }
+
+    static class ProfileTools {
+
+        private final CountDownLatch readOnlyCallStarted = new CountDownLatch(1);
+        private final AtomicInteger readOnlyCalls = new AtomicInteger();
+        private volatile String level = "A1";
+        private volatile String exerciseLevel;
+
+        @Tool("Sets the level")
+        public String setUserLevel(String level) throws InterruptedException {
+            // Returns only once the read-only call requested after it has started
+            if (!readOnlyCallStarted.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("read-only tool was held back");
+            }
+            this.level = level;
+            return "ok";
+        }
+
+        @Tool("Gets the level")
+        @ReadOnlyTool
+        public String getUserLevel() {
+            readOnlyCalls.incrementAndGet();
+            readOnlyCallStarted.countDown();
+            return level;
+        }
+
+        @Tool("Starts an exercise")
+        public String generateVocabularyExercise(String topic) {
+            exerciseLevel = level;
+            return "started";
+        }
+    }
+
+    /**
+     * Asks for all three tools in one response, then answers once the results are in.
+     */
+    private static class ScriptedModel implements ChatModel {
+
+        @Override
+        public ChatResponse doChat(ChatRequest request) {
+            boolean toolsDone = request.messages().stream()
+                .anyMatch(message -> message instanceof ToolExecutionResultMessage);
+            if (toolsDone) {
+                return ChatResponse.builder().aiMessage(AiMessage.from("done")).build();
+            }
+            return ChatResponse.builder().aiMessage(AiMessage.from(
+                call("1", "setUserLevel", "{\"level\": \"B2\"}"),
+                call("2", "getUserLevel", "{}"),
+                call("3", "generateVocabularyExercise", "{\"topic\": \"Wohnen\"}"))).build();
+        }
+
+        private static ToolExecutionRequest call(String id, String name, String arguments) {
+            return ToolExecutionRequest.builder().id(id).name(name).arguments(arguments).build();
+        }
+    }
+}
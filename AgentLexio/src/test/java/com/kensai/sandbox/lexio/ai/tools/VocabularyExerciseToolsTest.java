@@ -0,0 +1,87 @@
+package com.kensai.sandbox.lexio.ai.tools;
+
+import com.kensai.sandbox.lexio.config.PrefetchProperties;
+import com.kensai.sandbox.lexio.lexicon.GermanLexicon;
+import com.kensai.sandbox.lexio.service.ExercisePrefetcher;
+import com.kensai.sandbox.lexio.service.UserProfileService;
+import com.kensai.sandbox.lexio.service.VocabularyGenerationService;
+import com.kensai.sandbox.lexio.service.VocabularyGenerationService.GeneratedQuestion;
+import com.kensai.sandbox.lexio.stats.LearningStatsService;
+import com.kensai.sandbox.lexio.web.dto.TopicAssessment;
+import com.kensai.sandbox.lexio.web.dto.exercise.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VocabularyExerciseToolsTest {
+
+    private final VocabularyGenerationService generationService = mock(VocabularyGenerationService.class);
+    private final VocabularyExerciseTools tools = new VocabularyExerciseTools(
+        new UserProfileService(), generationService, new GermanLexicon(), mock(LearningStatsService.class),
+        new ExercisePrefetcher(new PrefetchProperties(false, 2, Duration.ofMinutes(10), 0.85, 0.5),
+            generationService, new SimpleMeterRegistry()));
+
+    @Test
+    void scoresAllAnswersInOneRequest() {
+        when(generationService.assessTopic(anyString())).thenReturn(new TopicAssessment("Wohnen", "B2", "", null));
+        when(generationService.generateQuestions(eq("Wohnen"), anyString(), eq(4))).thenReturn(List.of(
+            question("Das ___ ist groß.", "Haus", "house"),
+            question("Wir ___ nach Hause.", "gehen", "go"),
+            question("Der ___ ist grün.", "Baum", "tree"),
+            question("Ich ___ Deutsch.", "lerne", "learn")));
+
+        ExerciseStartedResponse started =
+            (ExerciseStartedResponse) tools.generateVocabularyExercise("Wohnen", 4, true);
+        ExerciseQuestionsResponse questions = tools.getQuestions(started.exerciseId()).orElseThrow();
+        QuizResultResponse result = tools.submitAllAnswers(started.exerciseId(),
+            Arrays.asList("das Haus", "ging", "Blume", "", "surplus")).orElseThrow();
+
+        assertEquals(4, questions.questions().size());
+        assertEquals("Wir ___ nach Hause.", questions.questions().get(1).sentenceWithBlank());
+
+        List<AnswerResponse> results = result.results();
+        assertEquals(4, results.size());
+        assertEquals("EXACT", results.get(0).matchType());
+        assertEquals("INFLECTION", results.get(1).matchType());
+        assertTrue(results.get(1).correct());
+        assertEquals("WRONG", results.get(2).matchType());
+        assertNull(results.get(3).matchType());
+        assertTrue(results.get(3).exerciseComplete());
+
+        ExerciseSummaryResponse summary = result.summary();
+        assertEquals(2, summary.correctAnswers());
+        assertEquals(1, summary.skipped());
+        assertEquals(List.of("Baum", "lerne"), summary.missedWords().stream().map(MissedWord::germanWord).toList());
+        assertTrue(tools.submitAllAnswers("unknown", List.of("x")).isEmpty());
+    }
+
+    @Test
+    void lastAnswerCarriesTheSummarySoNoExtraToolCallIsNeeded() {
+        when(generationService.assessTopic(anyString())).thenReturn(new TopicAssessment("Natur", "A1", "", null));
+        when(generationService.generateQuestions(eq("Natur"), anyString(), eq(2))).thenReturn(List.of(
+            question("Der ___ ist grün.", "Baum", "tree"),
+            question("Das ___ ist groß.", "Haus", "house")));
+        String exerciseId = ((ExerciseStartedResponse) tools.generateVocabularyExercise("Natur", 2, true)).exerciseId();
+
+        AnswerResponse first = tools.submitAnswer(exerciseId, "Baum");
+        SkipResponse last = tools.skipQuestion(exerciseId);
+
+        assertNull(first.summary());
+        assertTrue(last.exerciseComplete());
+        assertEquals(2, last.summary().totalQuestions());
+        assertEquals(1, last.summary().correctAnswers());
+        assertEquals(1, last.summary().skipped());
+    }
+
+    private static GeneratedQuestion question(String sentenceWithBlank, String targetWord, String englishWord) {
+        return new GeneratedQuestion(sentenceWithBlank, sentenceWithBlank.replace("___", targetWord),
+            targetWord, englishWord, "translation");
+    }
+}
@@ -0,0 +1,118 @@
+package com.kensai.sandbox.lexio.ai.tracing;
+
+import com.kensai.sandbox.lexio.ai.resilience.LlmCallExecutor;
+import com.kensai.sandbox.lexio.config.LlmResilienceProperties;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.listener.ChatModelRequestContext;
+import dev.langchain4j.model.chat.listener.ChatModelResponseContext;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingChatModelListenerTest {
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    private final LlmCallExecutor executor;
+
+    TracingChatModelListenerTest() {
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+        });
+        executor = new LlmCallExecutor(new LlmResilienceProperties(
+            Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1),
+            false, 0.95, Duration.ofSeconds(1), 5,
+            10, 4, 0.5, Duration.ofMinutes(1)), new SimpleMeterRegistry(), observationRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void modelRequestNestsUnderInvocationAndCarriesTokenCounts() {
+        TracingChatModelListener listener = new TracingChatModelListener(observationRegistry);
+        ChatRequest request = ChatRequest.builder()
+            .messages(UserMessage.from("Hallo"))
+            .modelName("test-model")
+            .build();
+
+        executor.call("chat", Duration.ofSeconds(1), false, () -> {
+            // Runs on an executor thread, as the model call does in production
+            Map<Object, Object> attributes = new HashMap<>();
+            listener.onRequest(new ChatModelRequestContext(request, ModelProvider.ANTHROPIC, attributes));
+            ChatResponse response = ChatResponse.builder()
+                .aiMessage(AiMessage.from("Hallo!"))
+                .tokenUsage(new TokenUsage(12, 34))
+                .build();
+            listener.onResponse(new ChatModelResponseContext(response, request, ModelProvider.ANTHROPIC, attributes));
+            return response;
+        });
+
+        Observation.Context modelRequest = find("lexio.llm.request");
+        assertEquals("lexio.llm.invocation", modelRequest.getParentObservation().getContextView().getName());
+        assertEquals("12", modelRequest.getHighCardinalityKeyValue("gen_ai.usage.input_tokens").getValue());
+        assertEquals("34", modelRequest.getHighCardinalityKeyValue("gen_ai.usage.output_tokens").getValue());
+        assertEquals("test-model", modelRequest.getLowCardinalityKeyValue("gen_ai.request.model").getValue());
+        assertEquals("chat", find("lexio.llm.invocation").getLowCardinalityKeyValue("operation").getValue());
+    }
+
+    @Test
+    void countsModelRequestsMadeByToolsAgainstTheEnclosingTurn() {
+        TracingChatModelListener listener = new TracingChatModelListener(observationRegistry);
+        Observation turn = Observation.createNotStarted("lexio.chat", observationRegistry);
+        AtomicInteger modelRequests = TracingChatModelListener.countModelRequests(turn);
+
+        turn.observe(() -> executor.call("chat", Duration.ofSeconds(1), false, () -> {
+            respond(listener);
+            // A tool inside the turn makes its own nested model call
+            return Observation.createNotStarted("lexio.tool", observationRegistry)
+                .observe(() -> executor.call("assessTopic", Duration.ofSeconds(1), false, () -> respond(listener)));
+        }));
+        respond(listener);
+
+        assertEquals(2, modelRequests.get());
+    }
+
+    private static ChatResponse respond(TracingChatModelListener listener) {
+        ChatRequest request = ChatRequest.builder().messages(UserMessage.from("Hallo")).build();
+        Map<Object, Object> attributes = new HashMap<>();
+        listener.onRequest(new ChatModelRequestContext(request, ModelProvider.ANTHROPIC, attributes));
+        ChatResponse response = ChatResponse.builder().aiMessage(AiMessage.from("Hallo!")).build();
+        listener.onResponse(new ChatModelResponseContext(response, request, ModelProvider.ANTHROPIC, attributes));
+        return response;
+    }
+
+    private Observation.Context find(String name) {
+        return stopped.stream()
+            .filter(context -> name.equals(context.getName()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("no observation " + name));
+    }
+}
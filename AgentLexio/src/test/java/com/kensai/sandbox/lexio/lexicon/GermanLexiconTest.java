@@ -0,0 +1,81 @@
+package com.kensai.sandbox.lexio.lexicon;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GermanLexiconTest {
+
+    private final GermanLexicon lexicon = new GermanLexicon();
+
+    @Test
+    void classifiesExactInflectedAndWrongAnswers() {
+        assertEquals(AnswerMatch.EXACT, lexicon.classify("haus", "Haus"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("Häuser", "Haus"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("ging", "gehen"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("lernen", "lerne"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("besser", "gut"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("Baum", "Haus"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("", "Haus"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("Flugzeuge", "Unbekanntwort"));
+    }
+
+    @Test
+    void rejectsFormsThatAreNotGerman() {
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("Autoes", "Auto"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("Buses", "Bus"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("müdee", "müde"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("Busse", "Bus"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("gezeichnet", "zeichnen"));
+    }
+
+    @Test
+    void rejectsHomographsOfOtherLemmas() {
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("ärmer", "Arm"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("liebte", "Liebe"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("lebte", "Leben"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("zahlen", "Zahl"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("zahlte", "Zahl"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("wusste", "weiß"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("fuhr", "führen"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("Eis", "Ei"));
+        assertEquals(AnswerMatch.WRONG, lexicon.classify("Sporte", "Sport"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("Zahlen", "Zahl"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("häuser", "Haus"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("ärmer", "arm"));
+        assertEquals(AnswerMatch.INFLECTION, lexicon.classify("wusste", "wissen"));
+    }
+
+    @Test
+    void keepsAllLemmasOfAmbiguousForms() throws IOException {
+        String words = """
+            # test
+            sein\tbin ist war
+            sein\tseine seiner
+            heißen\theiße heißt hieß
+            heiß\theiße heißer heißen
+            Arm\tArme Armen
+            arm\tarme ärmer armen
+            """;
+        LexiconIndex index = LexiconIndex.load(new ByteArrayInputStream(words.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of("sein", "sein"), index.lemmasOf("sein"));
+        assertEquals(List.of("heißen", "heiß"), index.lemmasOf("heiße"));
+        assertEquals(List.of("Arm", "arm"), index.lemmasOf("armen"));
+        assertTrue(index.sharesLemma("hieß", "heißen"));
+        assertTrue(index.sharesLemma("heiße", "heißer"));
+        assertFalse(index.sharesLemma("heißer", "heißen"), "the adjective is not a form of the verb");
+        assertFalse(index.sharesLemma("hieß", "heiße"), "the target could be either word");
+        assertTrue(index.sharesLemma("Armen", "Arm"));
+        assertTrue(index.sharesLemma("armen", "ärmer"));
+        assertFalse(index.sharesLemma("ärmer", "Arm"));
+        assertFalse(index.sharesLemma("Arme", "arm"));
+        assertFalse(index.sharesLemma("bin", "seine"));
+        assertFalse(index.contains("gewesen"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.kensai.sandbox.lexio.lexicon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reports the memory footprint of the bundled lexicon and its lookup throughput.
+ * Not a unit test; run with:
+ * <pre>
+ * ./mvnw -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.kensai.sandbox.lexio.lexicon.LexiconBenchmark
+ * </pre>
+ */
+public class LexiconBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int LOOKUPS_PER_ROUND = 2_000_000;
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        GermanLexicon lexicon = new GermanLexicon();
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        LexiconIndex index = lexicon.getIndex();
+        System.out.printf("Lemmas: %d, forms: %d%n", index.lemmaCount(), index.formCount());
+        System.out.printf("Index footprint (computed): %,d bytes%n", index.footprintBytes());
+        System.out.printf("Heap delta after load (approximate): %,d bytes%n", heapAfter - heapBefore);
+
+        // Mix of exact hits, inflections and misses, as seen when grading answers
+        String[][] pairs = {
+            {"Häuser", "Haus"}, {"ging", "gehen"}, {"haus", "Haus"}, {"besser", "gut"},
+            {"Baum", "Haus"}, {"gearbeitet", "arbeiten"}, {"xylofon", "Haus"}, {"kinder", "Kind"}
+        };
+        List<String[]> workload = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 1024; i++) {
+            workload.add(pairs[random.nextInt(pairs.length)]);
+        }
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += run(lexicon, workload);
+        }
+
+        long totalNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += run(lexicon, workload);
+            totalNanos += System.nanoTime() - start;
+        }
+
+        long lookups = (long) MEASURED_ROUNDS * LOOKUPS_PER_ROUND;
+        System.out.printf("classify(): %.1f ns/op, %,.0f ops/s (checksum %d)%n",
+            (double) totalNanos / lookups, lookups / (totalNanos / 1e9), sink);
+    }
+
+    private static long run(GermanLexicon lexicon, List<String[]> workload) {
+        long accepted = 0;
+        for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+            String[] pair = workload.get(i & 1023);
+            if (lexicon.classify(pair[0], pair[1]) != AnswerMatch.WRONG) accepted++;
+        }
+        return accepted;
+    }
+}
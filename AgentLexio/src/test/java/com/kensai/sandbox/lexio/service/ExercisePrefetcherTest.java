@@ -0,0 +1,145 @@
+package com.kensai.sandbox.lexio.service;
+
+import com.kensai.sandbox.lexio.config.PrefetchProperties;
+import com.kensai.sandbox.lexio.service.ExercisePrefetcher.Prefetched;
+import com.kensai.sandbox.lexio.service.UserProfileService.CefrLevel;
+import com.kensai.sandbox.lexio.service.VocabularyGenerationService.GeneratedQuestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExercisePrefetcherTest {
+
+    private final VocabularyGenerationService generationService = mock(VocabularyGenerationService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService prefetchThread = Executors.newSingleThreadExecutor();
+    private ExercisePrefetcher prefetcher;
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.destroy();
+    }
+
+    @Test
+    void servesNextExerciseOnSameTopicAtAdjustedLevelWithoutPracticedWords() throws Exception {
+        prefetcher = prefetcher(Duration.ofMinutes(10));
+        when(generationService.generateFreshQuestions(eq("Küche"), eq("A2"), eq(3), anySet())).thenReturn(questions(3));
+
+        prefetcher.prefetch("s1", "Küche", "A1", 3, Set.of("Messer", "Gabel"), 4, 4);
+        awaitPrefetches();
+
+        assertTrue(prefetcher.claim("s1", "Sport", 3, CefrLevel.A2).isEmpty(), "other topics must not consume the slot");
+        Optional<Prefetched> prefetched = prefetcher.claim("s1", " küche ", 3, CefrLevel.A2);
+
+        assertTrue(prefetched.isPresent());
+        assertEquals("A2", prefetched.get().level());
+        assertEquals(3, prefetched.get().questions().size());
+        verify(generationService).generateFreshQuestions("Küche", "A2", 3, Set.of("Messer", "Gabel"));
+        assertTrue(prefetcher.claim("s1", "Küche", 3, CefrLevel.A2).isEmpty(), "a prefetched exercise is served once");
+        assertEquals(1.0, prefetcher.hitRatio());
+        assertEquals(0.0, prefetcher.wasteRatio());
+    }
+
+    @Test
+    void countsReplacedAndExpiredExercisesAsWaste() {
+        prefetcher = prefetcher(Duration.ZERO);
+        when(generationService.generateFreshQuestions(anyString(), anyString(), anyInt(), anySet())).thenReturn(questions(3));
+
+        prefetcher.prefetch("s1", "Küche", "B1", 3, Set.of(), 1, 4);
+        prefetcher.prefetch("s1", "Küche", "B1", 3, Set.of(), 1, 4);
+
+        assertTrue(prefetcher.claim("s1", "Küche", 3, CefrLevel.C2).isEmpty());
+        assertEquals(0.0, prefetcher.hitRatio());
+        assertEquals(1.0, prefetcher.wasteRatio());
+        assertEquals(1.0, meterRegistry.get("lexio.prefetch.exercises").tag("result", "expired").counter().count());
+    }
+
+    @Test
+    void neverServesFallbackQuestionsWhenTheModelWasUnavailable() throws Exception {
+        prefetcher = prefetcher(Duration.ofMinutes(10));
+        // What the real service does when every generator call failed
+        when(generationService.generateFreshQuestions(anyString(), anyString(), anyInt(), anySet())).thenReturn(Optional.empty());
+
+        prefetcher.prefetch("s1", "Küche", "A1", 3, Set.of(), 1, 1);
+        awaitPrefetches();
+
+        assertTrue(prefetcher.claim("s1", "Küche", 3, CefrLevel.A1).isEmpty());
+        verify(generationService, never()).generateQuestions(anyString(), anyString(), anyInt(), anySet());
+        assertEquals(0.0, prefetcher.hitRatio());
+        assertEquals(1.0, unusable());
+    }
+
+    @Test
+    void dropsExercisesAboveTheLearnersLevel() throws Exception {
+        prefetcher = prefetcher(Duration.ofMinutes(10));
+        when(generationService.generateFreshQuestions(anyString(), eq("B2"), anyInt(), anySet())).thenReturn(questions(3));
+
+        // Accuracy of 4/4 raises B1 to B2, which the learner has not been warned about
+        prefetcher.prefetch("s1", "Recht", "B1", 3, Set.of(), 4, 4);
+        awaitPrefetches();
+        assertTrue(prefetcher.claim("s1", "Recht", 3, CefrLevel.B1).isEmpty());
+
+        prefetcher.prefetch("s1", "Recht", "B1", 3, Set.of(), 4, 4);
+        awaitPrefetches();
+        assertTrue(prefetcher.claim("s1", "Recht", 3, CefrLevel.C2).isPresent(), "accepted despite the warning");
+        assertEquals(1.0, unusable());
+    }
+
+    @Test
+    void neverWaitsForAnExerciseStillBeingGenerated() throws Exception {
+        prefetcher = prefetcher(Duration.ofMinutes(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(generationService.generateFreshQuestions(anyString(), eq("B1"), anyInt(), anySet())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return questions(3);
+        });
+
+        // Accuracy of 1/4 lowers B2 to B1
+        prefetcher.prefetch("s1", "Recht", "B2", 3, Set.of(), 1, 4);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // Waiting would let the generation finish and serve it
+        assertTrue(prefetcher.claim("s1", "Recht", 3, CefrLevel.C2).isEmpty());
+        release.countDown();
+        assertEquals(1.0, unusable());
+    }
+
+    /**
+     * Prefetches run one after another on a single thread, so a no-op submitted after them
+     * completes once they have.
+     */
+    private void awaitPrefetches() throws Exception {
+        prefetchThread.submit(() -> { }).get(1, TimeUnit.SECONDS);
+    }
+
+    private double unusable() {
+        return meterRegistry.get("lexio.prefetch.exercises").tag("result", "unusable").counter().count();
+    }
+
+    private ExercisePrefetcher prefetcher(Duration ttl) {
+        return new ExercisePrefetcher(new PrefetchProperties(true, 2, ttl, 0.85, 0.5), generationService, meterRegistry,
+            prefetchThread);
+    }
+
+    private static Optional<List<GeneratedQuestion>> questions(int count) {
+        return Optional.of(IntStream.range(0, count)
+            .mapToObj(i -> new GeneratedQuestion("___ " + i, "Wort" + i, "Wort" + i, "word", "___"))
+            .toList());
+    }
+}
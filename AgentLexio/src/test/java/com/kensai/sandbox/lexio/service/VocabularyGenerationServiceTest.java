@@ -0,0 +1,117 @@
+package com.kensai.sandbox.lexio.service;
+
+import com.kensai.sandbox.lexio.ai.assistant.VocabularyGenerator;
+import com.kensai.sandbox.lexio.ai.resilience.LlmCallExecutor;
+import com.kensai.sandbox.lexio.config.LlmResilienceProperties;
+import com.kensai.sandbox.lexio.config.VocabularyGenerationProperties;
+import com.kensai.sandbox.lexio.service.VocabularyGenerationService.GeneratedQuestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VocabularyGenerationServiceTest {
+
+    /** 10 questions in chunks of at most 3 */
+    private static final int CHUNKS = 4;
+
+    private final LlmResilienceProperties resilienceProperties = new LlmResilienceProperties(
+        Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5),
+        false, 0.95, Duration.ofSeconds(1), 20,
+        20, 5, 0.5, Duration.ofSeconds(30));
+    private final LlmCallExecutor llmCallExecutor = new LlmCallExecutor(resilienceProperties, new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
+    @AfterEach
+    void tearDown() {
+        llmCallExecutor.destroy();
+    }
+
+    @Test
+    void fansOutLargeRequestsConcurrentlyAndDeduplicates() {
+        StubGenerator generator = new StubGenerator();
+        VocabularyGenerationService service = service(generator);
+
+        List<GeneratedQuestion> questions = service.generateQuestions("Küche", "A1", 10, Set.of("Wort0"));
+
+        assertEquals(10, questions.size());
+        assertEquals(10, questions.stream().map(GeneratedQuestion::targetWord).collect(Collectors.toSet()).size());
+        assertFalse(questions.stream().anyMatch(q -> q.targetWord().equals("Wort0")));
+        // Every chunk got through the barrier, so all of them were in flight at once
+        assertEquals(0, generator.chunksInFlight.getNumberWaiting());
+        assertFalse(generator.chunksInFlight.isBroken());
+        // Spares covered the collisions, so no call followed the chunks
+        assertEquals(CHUNKS, generator.calls.get());
+    }
+
+    @Test
+    void smallRequestsUseSingleCall() {
+        StubGenerator generator = new StubGenerator();
+
+        List<GeneratedQuestion> questions = service(generator).generateQuestions("Küche", "A1", 3);
+
+        assertEquals(3, questions.size());
+        assertEquals(1, generator.calls.get());
+    }
+
+    private VocabularyGenerationService service(VocabularyGenerator generator) {
+        return new VocabularyGenerationService(generator, llmCallExecutor, resilienceProperties,
+            new QuestionBank(), new VocabularyGenerationProperties(true, 4, 3, 1), ObservationRegistry.NOOP);
+    }
+
+    /**
+     * Each chunk starts numbering its words on the last word of the previous one, so
+     * neighbouring chunks collide on one word and the service relies on the spares.
+     * Chunks only return once all of them have reached the barrier, so sequential chunks
+     * fail the test.
+     */
+    private static class StubGenerator implements VocabularyGenerator {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CyclicBarrier chunksInFlight = new CyclicBarrier(CHUNKS);
+        private final AtomicInteger nextOffset = new AtomicInteger();
+
+        @Override
+        public String assessTopicLevel(String topic) {
+            return "{\"level\": \"A1\"}";
+        }
+
+        @Override
+        public String generateVocabularySentences(String topic, String level, int count) {
+            return generate(0, count);
+        }
+
+        @Override
+        public String generateFocusedVocabularySentences(String topic, String level, int count,
+                                                         String focus, String excludedWords) {
+            int offset = nextOffset.getAndAdd(count - 1);
+            try {
+                chunksInFlight.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                throw new IllegalStateException("chunks did not run concurrently", e);
+            }
+            return generate(offset, count);
+        }
+
+        private String generate(int offset, int count) {
+            calls.incrementAndGet();
+            return IntStream.range(offset, offset + count)
+                .mapToObj(i -> String.format(
+                    "{\"sentenceWithBlank\": \"___ %d\", \"completeSentence\": \"Wort%d\", \"targetWord\": \"Wort%d\","
+                        + " \"englishWord\": \"word\", \"englishTranslation\": \"___\"}", i, i, i))
+                .collect(Collectors.joining(",", "[", "]"));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.kensai.sandbox.lexio.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LearningEventRingBufferTest {
+
+    @Test
+    void rejectsOffersWhenFull() {
+        LearningEventRingBuffer buffer = new LearningEventRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(event(i)));
+        }
+        assertFalse(buffer.offer(event(4)));
+
+        assertEquals(0, buffer.poll().elapsedMillis());
+        assertTrue(buffer.offer(event(5)));
+    }
+
+    @Test
+    void deliversEveryAcceptedEventFromConcurrentProducers() throws InterruptedException {
+        LearningEventRingBuffer buffer = new LearningEventRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        AtomicInteger accepted = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(event(1))) {
+                        Thread.onSpinWait();
+                    }
+                    accepted.incrementAndGet();
+                }
+            }));
+        }
+
+        long sum = 0;
+        int received = 0;
+        while (received < producers * perProducer) {
+            LearningEvent event = buffer.poll();
+            if (event != null) {
+                sum += event.elapsedMillis();
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, accepted.get());
+        assertEquals(producers * perProducer, sum);
+        assertNull(buffer.poll());
+    }
+
+    private static LearningEvent event(long elapsedMillis) {
+        return new LearningEvent(LearningEvent.Type.ANSWER, "user", "topic", "A1", true, elapsedMillis);
+    }
+}
@@ -0,0 +1,107 @@
+package com.kensai.sandbox.lexio.stats;
+
+import com.kensai.sandbox.lexio.config.LearningStatsProperties;
+import com.kensai.sandbox.lexio.stats.LearningEvent.Type;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsOverview;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LearningStatsServiceTest {
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .addScript("classpath:schema.sql")
+        .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void aggregatesEventsFlushesThemAndRestoresThemOnStart() {
+        LearningStatsService first = service(Duration.ofMinutes(1));
+        first.start();
+        first.publish(event(Type.ANSWER, " Wohnen ", "a1", true, 3_000));
+        first.publish(event(Type.ANSWER, "wohnen", "A1", false, 12_000));
+        first.publish(event(Type.SKIP, "Wohnen", "A1", false, 40_000));
+        first.publish(event(Type.HINT, "Wohnen", "A1", false, 0));
+        first.publish(event(Type.EXERCISE_COMPLETE, "Wohnen", "A1", false, 0));
+        first.publish(event(Type.ANSWER, "Reisen", "B1", true, 400_000));
+        first.stop();
+
+        LearningStatsResponse wohnen = first.getStats("topic", "WOHNEN").orElseThrow();
+        assertEquals(2, wohnen.questionsAnswered());
+        assertEquals(1, wohnen.correctAnswers());
+        assertEquals(1, wohnen.skipped());
+        assertEquals(1, wohnen.hintsUsed());
+        assertEquals(1, wohnen.exercisesCompleted());
+        assertEquals(33.3, wohnen.accuracyPercentage());
+        assertEquals(1L, wohnen.timePerQuestionHistogram().get("<5s"));
+        assertEquals(1L, wohnen.timePerQuestionHistogram().get("<20s"));
+        assertEquals(1L, wohnen.timePerQuestionHistogram().get("<60s"));
+        assertEquals(3, first.getStats("user", "default").orElseThrow().questionsAnswered());
+
+        // One row per rollup: user "default", two topics, two levels
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM learning_stats", Integer.class));
+        assertEquals("1,0,1,0,1,0,0,0", jdbcTemplate.queryForObject(
+            "SELECT time_histogram FROM learning_stats WHERE scope = 'TOPIC' AND scope_key = 'wohnen'", String.class));
+
+        LearningStatsService restarted = service(Duration.ofMinutes(1));
+        restarted.start();
+        assertEquals(2, restarted.getStats("topic", "wohnen").orElseThrow().questionsAnswered());
+        restarted.publish(event(Type.ANSWER, "Wohnen", "A1", true, 1_000));
+        restarted.stop();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT answered, correct FROM learning_stats WHERE scope = 'TOPIC' AND scope_key = 'wohnen'");
+        assertEquals(3L, row.get("ANSWERED"));
+        assertEquals(2L, row.get("CORRECT"));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM learning_stats", Integer.class));
+
+        LearningStatsOverview overview = restarted.getOverview();
+        assertEquals(1, overview.users().size());
+        assertEquals(2, overview.topics().size());
+        assertEquals("A1", overview.levels().get(0).key());
+    }
+
+    @Test
+    void idleConsumerWakesUpOnPublishInsteadOfWaitingForTheFlush() throws InterruptedException {
+        LearningStatsService service = service(Duration.ofMinutes(5));
+        service.start();
+        try {
+            Thread.sleep(100);
+            service.publish(event(Type.ANSWER, "Natur", "A2", true, 2_000));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (service.getStats("topic", "natur").isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(service.getStats("topic", "natur").isPresent());
+        } finally {
+            service.stop();
+        }
+    }
+
+    private LearningStatsService service(Duration flushInterval) {
+        return new LearningStatsService(new LearningStatsProperties(64, 16, flushInterval),
+            new LearningStatsRepository(jdbcTemplate), new SimpleMeterRegistry());
+    }
+
+    private static LearningEvent event(Type type, String topic, String level, boolean correct, long elapsedMillis) {
+        return new LearningEvent(type, "default", topic, level, correct, elapsedMillis);
+    }
+}
@@ -0,0 +1,85 @@
+package com.kensai.sandbox.lexio.web.controller;
+
+import com.kensai.sandbox.lexio.ai.tools.VocabularyExerciseTools;
+import com.kensai.sandbox.lexio.web.dto.exercise.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExerciseControllerTest {
+
+    private final VocabularyExerciseTools vocabularyExerciseTools = mock(VocabularyExerciseTools.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ExerciseController(vocabularyExerciseTools)).build();
+
+    @Test
+    void startsExercisesOrReturnsTheWarning() throws Exception {
+        when(vocabularyExerciseTools.generateVocabularyExercise("Küche", 5, false))
+            .thenReturn(new ExerciseStartedResponse("ex1", 1, 5, "Ich koche in der ___."));
+        when(vocabularyExerciseTools.generateVocabularyExercise("Recht", 3, false))
+            .thenReturn(new TopicWarningResponse("Recht", "C1", "A2", "Too hard", "Familie", false));
+
+        mockMvc.perform(post("/api/exercises").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"topic\": \"Küche\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.exercise.exerciseId").value("ex1"))
+            .andExpect(jsonPath("$.exercise.totalQuestions").value(5))
+            .andExpect(jsonPath("$.warning").doesNotExist());
+        mockMvc.perform(post("/api/exercises").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"topic\": \"Recht\", \"numberOfQuestions\": 3}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.exercise").doesNotExist())
+            .andExpect(jsonPath("$.warning.topicLevel").value("C1"))
+            .andExpect(jsonPath("$.warning.suggestedSimplerTopic").value("Familie"));
+        mockMvc.perform(post("/api/exercises").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"topic\": \" \"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void servesQuestionsAnswersAndSummaryOfKnownExercises() throws Exception {
+        ExerciseSummaryResponse summary = new ExerciseSummaryResponse(2, 2, 1, 0, 50.0, List.of());
+        when(vocabularyExerciseTools.getQuestions("ex1")).thenReturn(Optional.of(new ExerciseQuestionsResponse(
+            "ex1", 1, 2, List.of(new QuizQuestion(1, "Der ___ ist heiß."), new QuizQuestion(2, "Das ___ ist kalt.")))));
+        when(vocabularyExerciseTools.submitAllAnswers("ex1", List.of("Herd", "")))
+            .thenReturn(Optional.of(new QuizResultResponse("ex1", List.of(), summary)));
+        when(vocabularyExerciseTools.findExerciseSummary("ex1")).thenReturn(Optional.of(summary));
+
+        mockMvc.perform(get("/api/exercises/ex1/questions"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.currentQuestionNumber").value(1))
+            .andExpect(jsonPath("$.questions[1].sentenceWithBlank").value("Das ___ ist kalt."));
+        mockMvc.perform(post("/api/exercises/ex1/answers").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"answers\": [\"Herd\", \"\"]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.exerciseId").value("ex1"))
+            .andExpect(jsonPath("$.summary.accuracyPercentage").value(50.0));
+        mockMvc.perform(get("/api/exercises/ex1/summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalQuestions").value(2));
+    }
+
+    @Test
+    void unknownExercisesAreNotFound() throws Exception {
+        when(vocabularyExerciseTools.getQuestions("nope")).thenReturn(Optional.empty());
+        when(vocabularyExerciseTools.submitAllAnswers("nope", List.of("Herd"))).thenReturn(Optional.empty());
+        when(vocabularyExerciseTools.findExerciseSummary("nope")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/exercises/nope/questions"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/exercises/nope/answers").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"answers\": [\"Herd\"]}"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/exercises/nope/summary"))
+            .andExpect(status().isNotFound());
+    }
+}
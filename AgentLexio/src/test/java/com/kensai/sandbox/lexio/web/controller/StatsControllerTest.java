@@ -0,0 +1,58 @@
+package com.kensai.sandbox.lexio.web.controller;
+
+import com.kensai.sandbox.lexio.stats.LearningStatsService;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsOverview;
+import com.kensai.sandbox.lexio.web.dto.stats.LearningStatsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StatsControllerTest {
+
+    private final LearningStatsService learningStatsService = mock(LearningStatsService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StatsController(learningStatsService)).build();
+
+    @Test
+    void servesOverviewAndSingleRollupsByPluralScope() throws Exception {
+        LearningStatsResponse user = response("USER", "default");
+        when(learningStatsService.getOverview()).thenReturn(
+            new LearningStatsOverview(List.of(user), List.of(response("TOPIC", "wohnen")), List.of()));
+        when(learningStatsService.getStats("user", "default")).thenReturn(Optional.of(user));
+        when(learningStatsService.getStats("topic", "reisen")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.users[0].key").value("default"))
+            .andExpect(jsonPath("$.topics[0].questionsAnswered").value(4))
+            .andExpect(jsonPath("$.levels").isEmpty());
+        mockMvc.perform(get("/api/stats/users/default"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accuracyPercentage").value(75.0))
+            .andExpect(jsonPath("$.timePerQuestionHistogram['<5s']").value(4));
+        mockMvc.perform(get("/api/stats/topics/reisen"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unknownScopesAreNotFound() throws Exception {
+        mockMvc.perform(get("/api/stats/useres/default"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/stats/user/default"))
+            .andExpect(status().isNotFound());
+
+        verify(learningStatsService, never()).getStats(anyString(), anyString());
+    }
+
+    private static LearningStatsResponse response(String scope, String key) {
+        return new LearningStatsResponse(scope, key, 4, 3, 0, 1, 1, 75.0, 25.0, Map.of("<5s", 4L));
+    }
+}